@@ -0,0 +1,45 @@
+package com.rwtool.loadtest;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/** "--name value" command line options. */
+final class Args {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    Args(String[] args, int from) {
+        for (int i = from; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            String key = args[i].substring(2);
+            String value = i + 1 < args.length && !args[i + 1].startsWith("--") ? args[++i] : "true";
+            values.put(key, value);
+        }
+    }
+
+    String get(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    int getInt(String key, int defaultValue) {
+        return values.containsKey(key) ? Integer.parseInt(values.get(key)) : defaultValue;
+    }
+
+    long getLong(String key, long defaultValue) {
+        return values.containsKey(key) ? Long.parseLong(values.get(key)) : defaultValue;
+    }
+
+    double getDouble(String key, double defaultValue) {
+        return values.containsKey(key) ? Double.parseDouble(values.get(key)) : defaultValue;
+    }
+
+    String require(String key) {
+        String value = values.get(key);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing --" + key);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,71 @@
+package com.rwtool.loadtest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Runs the same scenario at increasing user counts and prints how throughput and p99 scale.
+ * Run it once against the app on platform threads and once with virtual threads
+ * (Java 21, VIRTUAL_THREADS=true) to compare: with blocking Graph or disk calls, platform
+ * threads level off near the Tomcat pool size while virtual threads keep scaling until
+ * the database pool, disk or the Graph stub becomes the limit.
+ */
+final class ConcurrencySweep {
+
+    private ConcurrencySweep() {
+    }
+
+    static void main(Args args) throws Exception {
+        String baseDir = args.get("base-dir", null);
+        ScenarioRunner runner = new ScenarioRunner(args.get("target", "http://localhost:8080"),
+                baseDir == null ? null : Path.of(baseDir));
+        int[] levels = Arrays.stream(args.get("levels", "50,100,200,400,800").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        int[] weights = ScenarioRunner.weights(args.get("scenario", "mixed"));
+        int duration = args.getInt("duration-seconds", 60);
+        int ramp = args.getInt("ramp-seconds", 5);
+        long thinkMs = args.getLong("think-ms", 0);
+        long pauseMs = args.getLong("pause-seconds", 10) * 1000;
+
+        List<LatencyRecorder.Totals> results = new ArrayList<>();
+        for (int i = 0; i < levels.length; i++) {
+            if (i > 0) {
+                // Let connections close and queues drain before the next level
+                Thread.sleep(pauseMs);
+            }
+            results.add(runner.run(levels[i], duration, ramp, thinkMs, weights, null));
+        }
+
+        System.out.println();
+        System.out.printf("%7s %10s %8s %9s %9s %8s%n", "users", "req/s", "scaling", "p50 ms", "p99 ms", "errors");
+        StringBuilder json = new StringBuilder("{\"scenario\":\"").append(args.get("scenario", "mixed"))
+                .append("\",\"durationSeconds\":").append(duration).append(",\"levels\":[");
+        double baseline = results.get(0).throughput() / levels[0];
+        for (int i = 0; i < levels.length; i++) {
+            LatencyRecorder.Totals t = results.get(i);
+            // 1.0 means throughput grew in proportion to users since the first level
+            double scaling = baseline > 0 ? t.throughput() / levels[i] / baseline : 0;
+            System.out.printf("%7d %10.1f %8.2f %9.1f %9.1f %8d%n", levels[i], t.throughput(), scaling,
+                    t.p50Ms(), t.p99Ms(), t.errors());
+            json.append(i == 0 ? "" : ",").append("{\"users\":").append(levels[i])
+                    .append(",\"requests\":").append(t.requests())
+                    .append(",\"errors\":").append(t.errors())
+                    .append(",\"throughput\":").append(LatencyRecorder.round(t.throughput()))
+                    .append(",\"scaling\":").append(Math.round(scaling * 100) / 100.0)
+                    .append(",\"p50Ms\":").append(LatencyRecorder.round(t.p50Ms()))
+                    .append(",\"p99Ms\":").append(LatencyRecorder.round(t.p99Ms()))
+                    .append('}');
+        }
+        json.append("]}");
+        String out = args.get("out", null);
+        if (out != null) {
+            Files.writeString(Path.of(out), json.toString());
+            System.out.println("Results written to " + out);
+        }
+    }
+}
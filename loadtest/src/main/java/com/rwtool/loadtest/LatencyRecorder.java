@@ -0,0 +1,113 @@
+package com.rwtool.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/** Collects every request latency per operation and reports throughput and percentiles. */
+final class LatencyRecorder {
+
+    /** All operations of one run together. */
+    record Totals(long requests, long errors, double throughput, double p50Ms, double p99Ms) {}
+
+    private final Map<String, Series> series = new ConcurrentHashMap<>();
+
+    void record(String operation, long nanos, boolean ok) {
+        series.computeIfAbsent(operation, k -> new Series()).add(nanos, ok);
+    }
+
+    /** Prints a table and, if out is not null, writes the same numbers as JSON. */
+    Totals report(double seconds, Path out) throws IOException {
+        Map<String, Series> sorted = new TreeMap<>(series);
+        System.out.printf("%-12s %9s %7s %10s %9s %9s %9s %9s%n", "operation", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        StringBuilder json = new StringBuilder("{\"durationSeconds\":").append(round(seconds)).append(",\"operations\":{");
+        long totalCount = 0;
+        long totalErrors = 0;
+        long[] all = new long[0];
+        boolean first = true;
+        for (Map.Entry<String, Series> e : sorted.entrySet()) {
+            long[] values = e.getValue().snapshot();
+            Arrays.sort(values);
+            all = concat(all, values);
+            long errors = e.getValue().errors();
+            totalCount += values.length;
+            totalErrors += errors;
+            double throughput = values.length / seconds;
+            System.out.printf("%-12s %9d %7d %10.1f %9.1f %9.1f %9.1f %9.1f%n", e.getKey(), values.length, errors, throughput,
+                    ms(percentile(values, 50)), ms(percentile(values, 90)), ms(percentile(values, 99)),
+                    ms(values.length == 0 ? 0 : values[values.length - 1]));
+            json.append(first ? "" : ",").append('"').append(e.getKey()).append("\":{")
+                    .append("\"requests\":").append(values.length)
+                    .append(",\"errors\":").append(errors)
+                    .append(",\"throughput\":").append(round(throughput))
+                    .append(",\"p50Ms\":").append(round(ms(percentile(values, 50))))
+                    .append(",\"p90Ms\":").append(round(ms(percentile(values, 90))))
+                    .append(",\"p99Ms\":").append(round(ms(percentile(values, 99))))
+                    .append(",\"maxMs\":").append(round(ms(values.length == 0 ? 0 : values[values.length - 1])))
+                    .append('}');
+            first = false;
+        }
+        System.out.printf("%-12s %9d %7d %10.1f%n", "total", totalCount, totalErrors, totalCount / seconds);
+        json.append("},\"totalRequests\":").append(totalCount)
+                .append(",\"totalErrors\":").append(totalErrors)
+                .append(",\"throughput\":").append(round(totalCount / seconds)).append('}');
+        if (out != null) {
+            Files.writeString(out, json.toString());
+            System.out.println("Results written to " + out);
+        }
+        Arrays.sort(all);
+        return new Totals(totalCount, totalErrors, totalCount / seconds,
+                ms(percentile(all, 50)), ms(percentile(all, 99)));
+    }
+
+    private static long[] concat(long[] a, long[] b) {
+        long[] joined = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, joined, a.length, b.length);
+        return joined;
+    }
+
+    // Nearest-rank percentile over sorted values
+    private static long percentile(long[] sorted, int p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    static double round(double v) {
+        return Math.round(v * 10) / 10.0;
+    }
+
+    private static final class Series {
+        private long[] values = new long[1024];
+        private int size;
+        private long errors;
+
+        synchronized void add(long nanos, boolean ok) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        synchronized long[] snapshot() {
+            return Arrays.copyOf(values, size);
+        }
+
+        synchronized long errors() {
+            return errors;
+        }
+    }
+}
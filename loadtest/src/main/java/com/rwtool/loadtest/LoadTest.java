@@ -0,0 +1,48 @@
+package com.rwtool.loadtest;
+
+/**
+ * Load-test entry point.
+ * <pre>
+ *   generate    build a synthetic baseDir (incoming, storage, reports/&lt;folder&gt;)
+ *   stub-graph  serve a directory as a Graph drive with injected latency and 429s
+ *   run         drive concurrent users against a running app and report throughput / p99
+ *   sweep       repeat run at increasing user counts and report how throughput scales
+ * </pre>
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] argv) throws Exception {
+        if (argv.length == 0) {
+            usage();
+            return;
+        }
+        Args args = new Args(argv, 1);
+        switch (argv[0]) {
+            case "generate" -> TreeGenerator.main(args);
+            case "stub-graph" -> StubGraphServer.main(args);
+            case "run" -> ScenarioRunner.main(args);
+            case "sweep" -> ConcurrencySweep.main(args);
+            default -> usage();
+        }
+    }
+
+    private static void usage() {
+        System.out.println("""
+                usage: java -jar rw-tools-loadtest.jar <command> [--option value ...]
+
+                  generate   --base-dir DIR [--folders 8] [--incoming 1000] [--storage 200]
+                             [--files-per-folder 500] [--min-bytes 4096] [--max-bytes 4194304] [--seed 42]
+                  stub-graph --drive-root DIR [--port 8090] [--latency-ms 50] [--jitter-ms 50]
+                             [--throttle-rate 0.02] [--threads 64]
+                  run        [--target http://localhost:8080] [--users 20] [--duration-seconds 60]
+                             [--ramp-seconds 5] [--think-ms 0] [--scenario mixed|list|stream|batch|routing]
+                             [--base-dir DIR] [--out results.json]
+                  sweep      [--target http://localhost:8080] [--levels 50,100,200,400,800]
+                             [--duration-seconds 60] [--pause-seconds 10] [--ramp-seconds 5] [--think-ms 0]
+                             [--scenario mixed|list|stream|batch|routing] [--base-dir DIR] [--out sweep.json]
+                """);
+    }
+}
@@ -0,0 +1,242 @@
+package com.rwtool.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Drives concurrent virtual users against a running app. Each user loops until the deadline,
+ * picking an operation by scenario weight:
+ * <ul>
+ *   <li>list: GET /api/folders/{folder}/files, /api/ops/storage or /api/routing/incoming</li>
+ *   <li>stream: GET /reports/stream for a random report</li>
+ *   <li>batch: POST /api/files/download/batch with five random reports</li>
+ *   <li>route: drops a new file into incoming (needs --base-dir) and POSTs /api/routing/route-one,
+ *       or POSTs /api/routing/run when no base dir is given (409 "run in progress" is not an error)</li>
+ * </ul>
+ */
+final class ScenarioRunner {
+
+    private static final Pattern NAME = Pattern.compile("\"name\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern FOLDER = Pattern.compile("\"([^\"]+)\"");
+
+    private final HttpClient client;
+    private final String target;
+    private final Path baseDir;
+    private LatencyRecorder recorder;
+    private final AtomicLong dropCounter = new AtomicLong();
+    private final List<String[]> reports = new ArrayList<>();
+    private final List<String> folders = new ArrayList<>();
+
+    ScenarioRunner(String target, Path baseDir) {
+        this.target = target.replaceAll("/$", "");
+        this.baseDir = baseDir;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    static void main(Args args) throws Exception {
+        String baseDir = args.get("base-dir", null);
+        ScenarioRunner runner = new ScenarioRunner(args.get("target", "http://localhost:8080"),
+                baseDir == null ? null : Path.of(baseDir));
+        int[] weights = weights(args.get("scenario", "mixed"));
+        String out = args.get("out", null);
+        runner.run(args.getInt("users", 20), args.getInt("duration-seconds", 60), args.getInt("ramp-seconds", 5),
+                args.getLong("think-ms", 0), weights, out == null ? null : Path.of(out));
+    }
+
+    // list, stream, batch, route
+    static int[] weights(String scenario) {
+        return switch (scenario) {
+            case "list" -> new int[]{1, 0, 0, 0};
+            case "stream" -> new int[]{0, 1, 0, 0};
+            case "batch" -> new int[]{0, 0, 1, 0};
+            case "routing" -> new int[]{0, 0, 0, 1};
+            case "mixed" -> new int[]{40, 35, 10, 15};
+            default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+        };
+    }
+
+    /** Runs one load level with a fresh recorder; discovery happens on the first run only. */
+    LatencyRecorder.Totals run(int users, int durationSeconds, int rampSeconds, long thinkMs, int[] weights, Path out)
+            throws Exception {
+        if (folders.isEmpty()) {
+            discover();
+        }
+        recorder = new LatencyRecorder();
+        System.out.printf("Target %s: %d folders, %d reports; %d users for %d s%n",
+                target, folders.size(), reports.size(), users, durationSeconds);
+
+        long start = System.nanoTime();
+        long deadline = start + Duration.ofSeconds(durationSeconds).toNanos();
+        CountDownLatch done = new CountDownLatch(users);
+        for (int u = 0; u < users; u++) {
+            long startDelayMs = users > 1 ? rampSeconds * 1000L * u / users : 0;
+            Thread user = new Thread(() -> {
+                try {
+                    Thread.sleep(startDelayMs);
+                    while (System.nanoTime() < deadline) {
+                        step(pick(weights));
+                        if (thinkMs > 0) {
+                            Thread.sleep(thinkMs);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }, "user-" + u);
+            user.setDaemon(true);
+            user.start();
+        }
+        done.await();
+        return recorder.report((System.nanoTime() - start) / 1e9, out);
+    }
+
+    private void discover() throws IOException, InterruptedException {
+        HttpResponse<String> list = client.send(get("/api/folders"), HttpResponse.BodyHandlers.ofString());
+        if (list.statusCode() != 200) {
+            throw new IllegalStateException("GET /api/folders returned " + list.statusCode() + "; is " + target + " the app?");
+        }
+        Matcher m = FOLDER.matcher(list.body());
+        while (m.find()) {
+            folders.add(m.group(1));
+        }
+        for (String folder : folders) {
+            HttpResponse<String> files = client.send(get("/api/folders/" + encode(folder) + "/files"),
+                    HttpResponse.BodyHandlers.ofString());
+            if (files.statusCode() != 200) {
+                continue;
+            }
+            Matcher f = NAME.matcher(files.body());
+            while (f.find()) {
+                reports.add(new String[]{folder, f.group(1)});
+            }
+        }
+    }
+
+    private int pick(int[] weights) {
+        int total = 0;
+        for (int w : weights) {
+            total += w;
+        }
+        int r = ThreadLocalRandom.current().nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            r -= weights[i];
+            if (r < 0) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private void step(int operation) throws InterruptedException {
+        switch (operation) {
+            case 0 -> list();
+            case 1 -> stream();
+            case 2 -> batch();
+            default -> route();
+        }
+    }
+
+    private void list() throws InterruptedException {
+        int which = ThreadLocalRandom.current().nextInt(folders.isEmpty() ? 2 : 3);
+        String path = switch (which) {
+            case 0 -> "/api/ops/storage";
+            case 1 -> "/api/routing/incoming";
+            default -> "/api/folders/" + encode(folders.get(ThreadLocalRandom.current().nextInt(folders.size()))) + "/files";
+        };
+        timed("list", get(path), false);
+    }
+
+    private void stream() throws InterruptedException {
+        if (reports.isEmpty()) {
+            return;
+        }
+        String[] report = randomReport();
+        timed("stream", get("/reports/stream?folder=" + encode(report[0]) + "&fileName=" + encode(report[1])), false);
+    }
+
+    private void batch() throws InterruptedException {
+        if (reports.isEmpty()) {
+            return;
+        }
+        StringBuilder body = new StringBuilder("{\"zipName\":\"load.zip\",\"files\":[");
+        for (int i = 0; i < 5; i++) {
+            String[] report = randomReport();
+            body.append(i == 0 ? "" : ",").append("{\"folder\":\"").append(report[0])
+                    .append("\",\"fileName\":\"").append(report[1]).append("\"}");
+        }
+        body.append("]}");
+        timed("batch", HttpRequest.newBuilder(URI.create(target + "/api/files/download/batch"))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build(), false);
+    }
+
+    private void route() throws InterruptedException {
+        if (baseDir == null) {
+            timed("route", post("/api/routing/run"), true);
+            return;
+        }
+        String prefix = TreeGenerator.PREFIXES[ThreadLocalRandom.current().nextInt(8)];
+        String name = String.format("%s__load-%d-%d.pdf", prefix, ProcessHandle.current().pid(), dropCounter.incrementAndGet());
+        try {
+            new TreeGenerator(baseDir, 4 * 1024, 512 * 1024, ThreadLocalRandom.current().nextLong())
+                    .dropInto(baseDir.resolve("incoming").resolve(name));
+        } catch (IOException e) {
+            recorder.record("route", 0, false);
+            return;
+        }
+        timed("route", post("/api/routing/route-one?fileName=" + encode(name)), false);
+    }
+
+    private void timed(String operation, HttpRequest request, boolean conflictIsOk) throws InterruptedException {
+        long started = System.nanoTime();
+        boolean ok;
+        try {
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            int status = response.statusCode();
+            ok = status < 400 || (conflictIsOk && status == 409);
+        } catch (IOException e) {
+            ok = false;
+        }
+        recorder.record(operation, System.nanoTime() - started, ok);
+    }
+
+    private String[] randomReport() {
+        return reports.get(ThreadLocalRandom.current().nextInt(reports.size()));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(target + path)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    private HttpRequest post(String path) {
+        return HttpRequest.newBuilder(URI.create(target + path))
+                .timeout(Duration.ofSeconds(120))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private static String encode(String s) {
+        return URLEncoder.encode(s, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
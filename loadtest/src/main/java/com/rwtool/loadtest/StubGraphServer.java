@@ -0,0 +1,226 @@
+package com.rwtool.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Base64;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the Microsoft Graph endpoints the app uses: the client-credentials token
+ * endpoint and the drive item APIs (site/drive lookup, list children, download and upload
+ * content by path or item id). A local directory plays the document library.
+ * Every request waits latency-ms plus up to jitter-ms, and a throttle-rate fraction of
+ * requests is answered 429 with Retry-After, like Graph under load.
+ * Point app.msgraph.authority and the SharePoint base URL at http://localhost:&lt;port&gt;.
+ */
+final class StubGraphServer {
+
+    private final Path driveRoot;
+    private final long latencyMs;
+    private final long jitterMs;
+    private final double throttleRate;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    StubGraphServer(Path driveRoot, long latencyMs, long jitterMs, double throttleRate) {
+        this.driveRoot = driveRoot;
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        this.throttleRate = throttleRate;
+    }
+
+    static void main(Args args) throws Exception {
+        StubGraphServer stub = new StubGraphServer(Path.of(args.require("drive-root")),
+                args.getLong("latency-ms", 50), args.getLong("jitter-ms", 50), args.getDouble("throttle-rate", 0.02));
+        int port = stub.start(args.getInt("port", 8090), args.getInt("threads", 64));
+        System.out.printf("Stub Graph listening on http://localhost:%d (drive root %s)%n", port, stub.driveRoot);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            stub.stop();
+            System.out.printf("Stub Graph served %d requests, %d throttled%n", stub.requests.get(), stub.throttled.get());
+        }));
+        Thread.currentThread().join();
+    }
+
+    int start(int port, int threads) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        executor = Executors.newFixedThreadPool(threads);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        return server.getAddress().getPort();
+    }
+
+    void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            delay();
+            if (throttleRate > 0 && ThreadLocalRandom.current().nextDouble() < throttleRate) {
+                throttled.incrementAndGet();
+                exchange.getResponseHeaders().add("Retry-After", "1");
+                json(exchange, 429, "{\"error\":{\"code\":\"TooManyRequests\",\"message\":\"Please retry again later.\"}}");
+                return;
+            }
+            route(exchange);
+        } catch (RuntimeException e) {
+            json(exchange, 500, "{\"error\":{\"code\":\"generalException\",\"message\":\"" + escape(e.getMessage()) + "\"}}");
+        }
+    }
+
+    private void route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = URLDecoder.decode(exchange.getRequestURI().getRawPath(), StandardCharsets.UTF_8);
+
+        if (path.endsWith("/oauth2/v2.0/token") && method.equals("POST")) {
+            exchange.getRequestBody().readAllBytes();
+            json(exchange, 200, "{\"token_type\":\"Bearer\",\"expires_in\":3599,\"access_token\":\"stub-token\"}");
+            return;
+        }
+        // /v1.0/sites/{site}/drive/... is the same drive as /v1.0/drives/{id}/...
+        path = path.replaceFirst("^/v1\\.0/sites/[^/]+/drive(?=/|$)", "/v1.0/drives/stub-drive");
+        if (path.matches("^/v1\\.0/sites/[^/]+.*") && method.equals("GET")) {
+            json(exchange, 200, "{\"id\":\"stub-site\",\"displayName\":\"Reports\"}");
+            return;
+        }
+        if (path.equals("/v1.0/drives/stub-drive") || path.matches("^/v1\\.0/drives/[^/]+$")) {
+            json(exchange, 200, "{\"id\":\"stub-drive\",\"driveType\":\"documentLibrary\"}");
+            return;
+        }
+        String drivePath = path.replaceFirst("^/v1\\.0/drives/[^/]+", "");
+        if (drivePath.equals("/root/children")) {
+            children(exchange, driveRoot);
+        } else if (drivePath.startsWith("/root:/") && drivePath.endsWith(":/children")) {
+            children(exchange, resolve(drivePath.substring("/root:/".length(), drivePath.length() - ":/children".length())));
+        } else if (drivePath.startsWith("/root:/") && drivePath.endsWith(":/content")) {
+            Path file = resolve(drivePath.substring("/root:/".length(), drivePath.length() - ":/content".length()));
+            if (method.equals("PUT")) {
+                upload(exchange, file);
+            } else {
+                download(exchange, file);
+            }
+        } else if (drivePath.startsWith("/items/") && drivePath.endsWith("/content")) {
+            String id = drivePath.substring("/items/".length(), drivePath.length() - "/content".length());
+            download(exchange, resolve(new String(Base64.getUrlDecoder().decode(id), StandardCharsets.UTF_8)));
+        } else if (drivePath.startsWith("/root:/")) {
+            Path item = resolve(drivePath.substring("/root:/".length()).replaceFirst(":$", ""));
+            if (!Files.exists(item)) {
+                notFound(exchange);
+            } else {
+                json(exchange, 200, item(item));
+            }
+        } else {
+            notFound(exchange);
+        }
+    }
+
+    private void children(HttpExchange exchange, Path dir) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            notFound(exchange);
+            return;
+        }
+        StringBuilder body = new StringBuilder("{\"value\":[");
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+            boolean first = true;
+            for (Path entry : entries) {
+                body.append(first ? "" : ",").append(item(entry));
+                first = false;
+            }
+        }
+        json(exchange, 200, body.append("]}").toString());
+    }
+
+    private void download(HttpExchange exchange, Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            notFound(exchange);
+            return;
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/octet-stream");
+        exchange.sendResponseHeaders(200, Files.size(file));
+        try (InputStream in = Files.newInputStream(file); OutputStream out = exchange.getResponseBody()) {
+            in.transferTo(out);
+        }
+    }
+
+    private void upload(HttpExchange exchange, Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".upload");
+        try (InputStream in = exchange.getRequestBody()) {
+            Files.copy(in, tmp, StandardCopyOption.REPLACE_EXISTING);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        json(exchange, 201, item(file));
+    }
+
+    private String item(Path entry) throws IOException {
+        String relative = driveRoot.relativize(entry).toString().replace('\\', '/');
+        String id = Base64.getUrlEncoder().withoutPadding().encodeToString(relative.getBytes(StandardCharsets.UTF_8));
+        StringBuilder json = new StringBuilder("{\"id\":\"").append(id)
+                .append("\",\"name\":\"").append(escape(entry.getFileName().toString()))
+                .append("\",\"lastModifiedDateTime\":\"").append(Files.getLastModifiedTime(entry).toInstant())
+                .append("\",\"size\":").append(Files.isDirectory(entry) ? 0 : Files.size(entry));
+        if (Files.isDirectory(entry)) {
+            json.append(",\"folder\":{}");
+        } else {
+            json.append(",\"file\":{\"mimeType\":\"application/octet-stream\"}");
+        }
+        return json.append('}').toString();
+    }
+
+    private Path resolve(String relative) {
+        Path resolved = driveRoot.resolve(relative).normalize();
+        if (!resolved.startsWith(driveRoot.normalize())) {
+            throw new IllegalArgumentException("Path escapes the drive root: " + relative);
+        }
+        return resolved;
+    }
+
+    private void delay() {
+        long millis = latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs + 1) : 0);
+        if (millis > 0) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void notFound(HttpExchange exchange) throws IOException {
+        json(exchange, 404, "{\"error\":{\"code\":\"itemNotFound\",\"message\":\"The resource could not be found.\"}}");
+    }
+
+    private static void json(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String escape(String s) {
+        return s == null ? "" : s.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
@@ -0,0 +1,98 @@
+package com.rwtool.loadtest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Writes a baseDir tree shaped like production: incoming/ and storage/ hold
+ * "&lt;Prefix&gt;__&lt;name&gt;.&lt;ext&gt;" drops, reports/&lt;Prefix&gt;/ holds routed reports.
+ * File sizes are log-uniform between min and max so most files are small and a few are large.
+ */
+final class TreeGenerator {
+
+    static final String[] PREFIXES = {"Finance", "Compliance", "Risk", "Operations", "HR", "Treasury", "Audit", "Sales",
+            "Legal", "Marketing", "Procurement", "IT"};
+    private static final String[] EXTENSIONS = {"pdf", "pdf", "pdf", "xlsx", "csv", "docx"};
+
+    private final Path baseDir;
+    private final long minBytes;
+    private final long maxBytes;
+    private final Random random;
+
+    TreeGenerator(Path baseDir, long minBytes, long maxBytes, long seed) {
+        this.baseDir = baseDir;
+        this.minBytes = Math.max(1, minBytes);
+        this.maxBytes = Math.max(this.minBytes, maxBytes);
+        this.random = new Random(seed);
+    }
+
+    static void main(Args args) throws IOException {
+        Path baseDir = Path.of(args.require("base-dir"));
+        TreeGenerator generator = new TreeGenerator(baseDir,
+                args.getLong("min-bytes", 4 * 1024), args.getLong("max-bytes", 4 * 1024 * 1024), args.getLong("seed", 42));
+        int folders = Math.min(PREFIXES.length, args.getInt("folders", 8));
+        long started = System.nanoTime();
+        generator.incoming(args.getInt("incoming", 1000), folders);
+        generator.storage(args.getInt("storage", 200), folders);
+        generator.reports(folders, args.getInt("files-per-folder", 500));
+        System.out.printf("Generated tree under %s in %d ms%n", baseDir, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    List<String> incoming(int count, int folders) throws IOException {
+        return drops(baseDir.resolve("incoming"), count, folders, "drop");
+    }
+
+    List<String> storage(int count, int folders) throws IOException {
+        return drops(baseDir.resolve("storage"), count, folders, "staged");
+    }
+
+    void reports(int folders, int filesPerFolder) throws IOException {
+        for (int f = 0; f < folders; f++) {
+            Path dir = Files.createDirectories(baseDir.resolve("reports").resolve(PREFIXES[f]));
+            for (int i = 0; i < filesPerFolder; i++) {
+                write(dir.resolve(String.format("report-%06d.%s", i, extension())));
+            }
+        }
+    }
+
+    private List<String> drops(Path dir, int count, int folders, String stem) throws IOException {
+        Files.createDirectories(dir);
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = String.format("%s__%s-%06d.%s", PREFIXES[i % folders], stem, i, extension());
+            write(dir.resolve(name));
+            names.add(name);
+        }
+        return names;
+    }
+
+    private String extension() {
+        return EXTENSIONS[random.nextInt(EXTENSIONS.length)];
+    }
+
+    /** Write one file of random size (between min and max) at the given path. */
+    void dropInto(Path file) throws IOException {
+        write(file);
+    }
+
+    private void write(Path file) throws IOException {
+        double logMin = Math.log(minBytes);
+        double logMax = Math.log(maxBytes);
+        long size = (long) Math.exp(logMin + random.nextDouble() * (logMax - logMin));
+        byte[] chunk = new byte[(int) Math.min(size, 64 * 1024)];
+        random.nextBytes(chunk);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            long remaining = size;
+            while (remaining > 0) {
+                int n = (int) Math.min(remaining, chunk.length);
+                out.write(chunk, 0, n);
+                remaining -= n;
+            }
+        }
+    }
+}
@@ -21,10 +21,39 @@ export const FilePathManagement = () => {
         }
     };
 
+    // Live incoming list over Server-Sent Events; falls back to polling if the stream is unavailable
     useEffect(() => {
-        fetchIncoming();
-        const id = setInterval(fetchIncoming, 5000);
-        return () => clearInterval(id);
+        let pollId = null;
+        const dropByName = (name) => setIncomingFiles((prev) => prev.filter((f) => f.name !== name));
+        const es = new EventSource("http://localhost:8080/api/routing/incoming/stream");
+        es.addEventListener("snapshot", (e) => {
+            const data = JSON.parse(e.data);
+            setIncomingFiles(Array.isArray(data) ? data : []);
+        });
+        es.addEventListener("added", (e) => {
+            const file = JSON.parse(e.data);
+            setIncomingFiles((prev) => [file, ...prev.filter((f) => f.name !== file.name)]);
+        });
+        es.addEventListener("removed", (e) => dropByName(JSON.parse(e.data).name));
+        es.addEventListener("routed", (e) => dropByName(JSON.parse(e.data).name));
+        // Poll while the browser is reconnecting (CONNECTING) or has given up (CLOSED);
+        // a reopened stream starts with a fresh snapshot, so polling stops then
+        es.onerror = () => {
+            if (!pollId) {
+                fetchIncoming();
+                pollId = setInterval(fetchIncoming, 5000);
+            }
+        };
+        es.onopen = () => {
+            if (pollId) {
+                clearInterval(pollId);
+                pollId = null;
+            }
+        };
+        return () => {
+            es.close();
+            if (pollId) clearInterval(pollId);
+        };
     }, []);
 
     // Restore sent rows from localStorage on first mount
@@ -281,7 +281,7 @@ const OpsDashboard = ({ navigate }) => {
 
     const pagedReports = filteredReports.slice((page - 1) * PAGE_SIZE, page * PAGE_SIZE);
 
-    // Fetch storage list periodically
+    // Live storage list over Server-Sent Events; falls back to polling if the stream is unavailable
     useEffect(() => {
         const fetchStorage = async () => {
             try {
@@ -292,9 +292,38 @@ const OpsDashboard = ({ navigate }) => {
                 // ignore for demo
             }
         };
-        fetchStorage();
-        const id = setInterval(fetchStorage, 5000);
-        return () => clearInterval(id);
+        let pollId = null;
+        const es = new EventSource('http://localhost:8080/api/ops/storage/stream');
+        es.addEventListener('snapshot', (e) => {
+            const data = JSON.parse(e.data);
+            setStorageFiles(Array.isArray(data) ? data : []);
+        });
+        es.addEventListener('added', (e) => {
+            const file = JSON.parse(e.data);
+            setStorageFiles((prev) => [file, ...prev.filter((f) => f.name !== file.name)]);
+        });
+        es.addEventListener('removed', (e) => {
+            const { name } = JSON.parse(e.data);
+            setStorageFiles((prev) => prev.filter((f) => f.name !== name));
+        });
+        // Poll while the browser is reconnecting (CONNECTING) or has given up (CLOSED);
+        // a reopened stream starts with a fresh snapshot, so polling stops then
+        es.onerror = () => {
+            if (!pollId) {
+                fetchStorage();
+                pollId = setInterval(fetchStorage, 5000);
+            }
+        };
+        es.onopen = () => {
+            if (pollId) {
+                clearInterval(pollId);
+                pollId = null;
+            }
+        };
+        return () => {
+            es.close();
+            if (pollId) clearInterval(pollId);
+        };
     }, []);
 
     const importOne = async (name) => {
@@ -320,10 +349,41 @@ const OpsDashboard = ({ navigate }) => {
     const selectAllPage = () => setSelectedIds(pagedReports.map((r) => r.id));
     const clearSelection = () => setSelectedIds([]);
 
-    const batchDownload = () => {
-        // Simulate: in real app, request ZIP for selected items & dates (US06)
-        alert(`Importing ${selectedIds.length} report(s) as ZIP...`);
+    // Import the selected storage files in one bulk job and poll it for per-file progress
+    const batchDownload = async () => {
+        const names = reportsDomain.filter((r) => selectedIds.includes(r.id)).map((r) => r.name);
+        if (!names.length) return;
+        setImportStatus((s) => ({ ...s, ...Object.fromEntries(names.map((n) => [n, 'importing'])) }));
         clearSelection();
+        const applyJob = (job) => {
+            setImportStatus((s) => {
+                const next = { ...s };
+                (job.files || []).forEach((f) => {
+                    if (f.state === 'IMPORTED') next[f.fileName] = 'success';
+                    else if (f.state === 'SKIPPED' || f.state === 'FAILED') next[f.fileName] = `error:${f.message || f.state.toLowerCase()}`;
+                });
+                return next;
+            });
+        };
+        try {
+            const res = await fetch('http://localhost:8080/api/ops/import-storage/bulk', {
+                method: 'POST',
+                headers: { 'Content-Type': 'application/json' },
+                body: JSON.stringify({ fileNames: names }),
+            });
+            if (!res.ok) throw new Error(await res.text());
+            let job = await res.json();
+            applyJob(job);
+            while (!job.done) {
+                await new Promise((r) => setTimeout(r, 1000));
+                const poll = await fetch(`http://localhost:8080/api/ops/import-storage/bulk/${job.jobId}`);
+                if (!poll.ok) break;
+                job = await poll.json();
+                applyJob(job);
+            }
+        } catch (e) {
+            setImportStatus((s) => ({ ...s, ...Object.fromEntries(names.map((n) => [n, `error:${e.message}`])) }));
+        }
     };
 
     const markViewed = (id) => {
@@ -749,7 +809,7 @@ const OpsDashboard = ({ navigate }) => {
                                 <div className="pub-footer">
                                     <div className="row-8">
                                         <button className="approve-btn" disabled={!selectedIds.length} onClick={batchDownload}>
-                                            <Download size={14} /> Import selected (ZIP)
+                                            <Download size={14} /> Import selected
                                         </button>
                                         {selectedIds.length > 0 && (
                                             <button className="reject-btn" onClick={clearSelection}>Clear selection</button>
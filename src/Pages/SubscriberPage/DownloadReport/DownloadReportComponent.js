@@ -55,7 +55,9 @@ const DownloadReportComponent = () => {
                     size: file.size,
                     fileName: file.name,
                     folderPath: file.folder,
-                    format: ext || 'unknown'
+                    format: ext || 'unknown',
+                    // first-page thumbnail (PDFs only), instead of opening the whole file to see what it is
+                    preview: file.preview ? `http://localhost:8080${file.preview}` : null
                 };
             });
 
@@ -319,9 +321,20 @@ const DownloadReportComponent = () => {
                                                 style={{ width: '20px', height: '20px', marginTop: '5px', cursor: 'pointer' }}
                                             />
                                         </div>
-                                        <div className="report-icon me-3">
-                                            <i className="bi bi-file-earmark-text"></i>
-                                        </div>
+                                        {r.preview ? (
+                                            <img
+                                                className="report-thumbnail me-3"
+                                                src={r.preview}
+                                                alt=""
+                                                loading="lazy"
+                                                onClick={() => handlePreviewReport(r)}
+                                                onError={() => setReports(prev => prev.map(x => x.id === r.id ? { ...x, preview: null } : x))}
+                                            />
+                                        ) : (
+                                            <div className="report-icon me-3">
+                                                <i className="bi bi-file-earmark-text"></i>
+                                            </div>
+                                        )}
                                         <div className="flex-grow-1">
                                             <div className="d-flex justify-content-between align-items-start mb-2">
                                                 <h4 className="report-card-title mb-0">{r.title}</h4>
@@ -0,0 +1,196 @@
+package com.rwtool.benchmark;
+
+import com.rwtool.model.PathConfig;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Builds application components for benchmarks without starting Spring or a database.
+ * Constructor and @Autowired dependencies are filled from explicit overrides, then with
+ * in-memory stubs for interfaces (repositories answer with a fixed set of path configs,
+ * save() returns its argument, everything else is empty), then by building concrete
+ * classes the same way. @Value fields get their declared default, except the storage
+ * base dir, which points at the benchmark's synthetic tree. @PostConstruct is not called,
+ * so no watcher, journal or scheduler threads are started. A dependency that cannot be built
+ * fails the setup with the type and its consumer rather than being left null.
+ */
+final class BenchSupport {
+
+    static final String[] PREFIXES = {"Finance", "Compliance", "Risk", "Operations", "HR", "Treasury", "Audit", "Sales"};
+
+    private final Path baseDir;
+    private final Map<Class<?>, Object> overrides = new HashMap<>();
+    private final List<PathConfig> pathConfigs = new ArrayList<>();
+    private final Set<Class<?>> building = new HashSet<>();
+
+    BenchSupport(Path baseDir) {
+        this.baseDir = baseDir;
+        long id = 1;
+        for (String prefix : PREFIXES) {
+            pathConfigs.add(new PathConfig(id++, prefix, "incoming/" + prefix + "__", "reports/" + prefix, "Active", Instant.now()));
+        }
+    }
+
+    <T> BenchSupport with(Class<T> type, T instance) {
+        overrides.put(type, instance);
+        return this;
+    }
+
+    <T> T create(Class<T> type) {
+        if (!building.add(type)) {
+            throw new IllegalStateException("Dependency cycle through " + type.getName());
+        }
+        try {
+            Constructor<?> constructor = List.of(type.getDeclaredConstructors()).stream()
+                    .filter(c -> !Modifier.isPrivate(c.getModifiers()))
+                    .max(Comparator.comparingInt(Constructor::getParameterCount))
+                    .orElseThrow(() -> new IllegalStateException("No usable constructor on " + type));
+            constructor.setAccessible(true);
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            Object[] args = new Object[parameterTypes.length];
+            for (int i = 0; i < args.length; i++) {
+                args[i] = resolve(parameterTypes[i], type);
+            }
+            T instance = type.cast(constructor.newInstance(args));
+            injectFields(instance);
+            return instance;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not build " + type.getName() + " for benchmarking", e);
+        } finally {
+            building.remove(type);
+        }
+    }
+
+    private void injectFields(Object instance) throws IllegalAccessException {
+        for (Class<?> c = instance.getClass(); c != null && c != Object.class; c = c.getSuperclass()) {
+            for (Field field : c.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                Value value = field.getAnnotation(Value.class);
+                if (value != null) {
+                    field.setAccessible(true);
+                    field.set(instance, valueFor(value.value(), field.getType()));
+                } else if (field.isAnnotationPresent(Autowired.class) || field.isAnnotationPresent(PersistenceContext.class)) {
+                    field.setAccessible(true);
+                    if (field.get(instance) == null) {
+                        field.set(instance, resolve(field.getType(), instance.getClass()));
+                    }
+                }
+            }
+        }
+    }
+
+    private Object resolve(Class<?> type, Class<?> consumer) {
+        if (overrides.containsKey(type)) {
+            return overrides.get(type);
+        }
+        if (type.isInterface()) {
+            Object stub = stub(type);
+            overrides.put(type, stub);
+            return stub;
+        }
+        if (type.isPrimitive() || type.getName().startsWith("java.")) {
+            return defaultFor(type);
+        }
+        try {
+            Object instance = create(type);
+            overrides.put(type, instance);
+            return instance;
+        } catch (RuntimeException e) {
+            // A null here would only show up later as an NPE inside the measured code
+            throw new IllegalStateException("Could not wire " + type.getName() + " into " + consumer.getName(), e);
+        }
+    }
+
+    // "${app.storage.local.baseDir:}" -> the synthetic tree; "${x:42}" -> 42 converted to the field type
+    private Object valueFor(String expression, Class<?> type) {
+        if (expression.contains("baseDir")) {
+            return baseDir.toString();
+        }
+        int colon = expression.indexOf(':');
+        String raw = colon < 0 ? "" : expression.substring(colon + 1, expression.lastIndexOf('}'));
+        if (type == String.class) return raw;
+        if (type == int.class || type == Integer.class) return raw.isEmpty() ? 0 : Integer.parseInt(raw);
+        if (type == long.class || type == Long.class) return raw.isEmpty() ? 0L : Long.parseLong(raw);
+        if (type == boolean.class || type == Boolean.class) return Boolean.parseBoolean(raw);
+        if (type == double.class || type == Double.class) return raw.isEmpty() ? 0d : Double.parseDouble(raw);
+        if (type.isEnum() && !raw.isEmpty()) {
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            Object constant = Enum.valueOf((Class<? extends Enum>) type, raw);
+            return constant;
+        }
+        return defaultFor(type);
+    }
+
+    private Object stub(Class<?> type) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "toString": return "stub:" + type.getSimpleName();
+                case "hashCode": return System.identityHashCode(proxy);
+                case "equals": return proxy == args[0];
+                case "save": return args[0];
+                case "saveAll": return args[0];
+                default: return answer(method, args);
+            }
+        });
+    }
+
+    private Object answer(Method method, Object[] args) {
+        Class<?> returnType = method.getReturnType();
+        boolean ofPathConfig = elementType(method.getGenericReturnType()) == PathConfig.class;
+        if (returnType == Optional.class) {
+            if (ofPathConfig && args != null && args.length == 1 && args[0] instanceof String key) {
+                return pathConfigs.stream().filter(p -> p.getPrefix().equalsIgnoreCase(key)).findFirst();
+            }
+            return Optional.empty();
+        }
+        if (Collection.class.isAssignableFrom(returnType) || returnType == Iterable.class) {
+            return ofPathConfig ? new ArrayList<>(pathConfigs) : new ArrayList<>();
+        }
+        if (returnType == Page.class) {
+            return Page.empty();
+        }
+        return defaultFor(returnType);
+    }
+
+    private static Type elementType(Type type) {
+        if (type instanceof ParameterizedType p && p.getActualTypeArguments().length == 1) {
+            return p.getActualTypeArguments()[0];
+        }
+        return null;
+    }
+
+    private static Object defaultFor(Class<?> type) {
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == double.class) return 0d;
+        if (type == float.class) return 0f;
+        if (type == short.class) return (short) 0;
+        if (type == byte.class) return (byte) 0;
+        if (type == char.class) return (char) 0;
+        return null;
+    }
+}
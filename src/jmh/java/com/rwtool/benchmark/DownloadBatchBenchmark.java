@@ -0,0 +1,74 @@
+package com.rwtool.benchmark;
+
+import com.rwtool.controller.FileDownloadController;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/** ZIP assembly in POST /api/files/download-batch for a selection of report files. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DownloadBatchBenchmark {
+
+    @Param({"10", "100"})
+    public int fileCount;
+
+    @Param({"65536", "1048576"})
+    public int fileBytes;
+
+    private Path baseDir;
+    private FileDownloadController controller;
+    private Map<String, Object> body;
+
+    @Setup
+    public void setup() throws IOException {
+        baseDir = Files.createTempDirectory("rwtool-bench-zip");
+        List<String> folders = SyntheticTree.populateReports(baseDir, 1, fileCount, fileBytes);
+        controller = new BenchSupport(baseDir)
+                .with(MeterRegistry.class, new SimpleMeterRegistry())
+                .create(FileDownloadController.class);
+
+        List<Map<String, String>> files = new ArrayList<>();
+        for (int i = 0; i < fileCount; i++) {
+            files.add(Map.of("folder", folders.get(0), "fileName", String.format("report-%06d.pdf", i)));
+        }
+        body = new HashMap<>();
+        body.put("files", files);
+        body.put("zipName", "bench.zip");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        SyntheticTree.delete(baseDir);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> downloadBatch() {
+        return controller.downloadBatch(body);
+    }
+}
@@ -0,0 +1,88 @@
+package com.rwtool.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rwtool.service.DirectoryListingService;
+import com.rwtool.service.FolderService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FolderService.listFilesFromFolders (the subscriber's accessible-files view), with the
+ * streaming listing of one folder alongside it for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FolderListingBenchmark {
+
+    @Param({"5", "50"})
+    public int folderCount;
+
+    @Param({"200", "2000"})
+    public int filesPerFolder;
+
+    private Path baseDir;
+    private List<String> folders;
+    private FolderService folderService;
+    private DirectoryListingService directoryListingService;
+
+    @Setup
+    public void setup() throws IOException {
+        baseDir = Files.createTempDirectory("rwtool-bench-folders");
+        folders = SyntheticTree.populateReports(baseDir, folderCount, filesPerFolder, 16);
+        BenchSupport support = new BenchSupport(baseDir).with(ObjectMapper.class, new ObjectMapper());
+        folderService = support.create(FolderService.class);
+        directoryListingService = support.create(DirectoryListingService.class);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        SyntheticTree.delete(baseDir);
+    }
+
+    @Benchmark
+    public Object listFilesFromFolders() throws Exception {
+        return folderService.listFilesFromFolders(folders);
+    }
+
+    @Benchmark
+    public long streamOneFolder() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        directoryListingService.streamReportFolder(folders.get(0)).writeTo(out);
+        return out.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
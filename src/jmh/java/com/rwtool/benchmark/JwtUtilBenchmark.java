@@ -0,0 +1,62 @@
+package com.rwtool.benchmark;
+
+import com.rwtool.config.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/** Token parsing and validation as done by JwtAuthenticationFilter on every request. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String token;
+    private UserDetails user;
+
+    @Setup
+    public void setup() throws ReflectiveOperationException {
+        jwtUtil = new JwtUtil();
+        set("secret", "benchmark-secret-benchmark-secret-benchmark-secret-0123456789");
+        set("expiration", 3_600_000L);
+        token = jwtUtil.generateToken("user@example.com", "USER");
+        user = User.withUsername("user@example.com").password("n/a").authorities("ROLE_USER").build();
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token, user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken("user@example.com", "USER");
+    }
+
+    private void set(String name, Object value) throws ReflectiveOperationException {
+        Field field = JwtUtil.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(jwtUtil, value);
+    }
+}
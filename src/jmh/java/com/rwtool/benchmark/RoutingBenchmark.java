@@ -0,0 +1,98 @@
+package com.rwtool.benchmark;
+
+import com.rwtool.service.RoutingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Routing over synthetic incoming trees of 1k, 10k and 100k files.
+ * dryRunDecisions runs against a fixed tree; runRoutingNow moves every file, so the tree is
+ * rebuilt before each iteration and each iteration is measured as a single shot.
+ */
+@Fork(1)
+public class RoutingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class DryRunState {
+        @Param({"1000", "10000", "100000"})
+        public int fileCount;
+
+        Path baseDir;
+        List<String> names;
+        RoutingService routingService;
+
+        @Setup(Level.Trial)
+        public void setup() throws IOException {
+            baseDir = Files.createTempDirectory("rwtool-bench-dryrun");
+            names = SyntheticTree.populateIncoming(baseDir, fileCount, 16);
+            routingService = new BenchSupport(baseDir).create(RoutingService.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            SyntheticTree.delete(baseDir);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class RunState {
+        @Param({"1000", "10000", "100000"})
+        public int fileCount;
+
+        Path baseDir;
+        RoutingService routingService;
+
+        @Setup(Level.Trial)
+        public void setup() throws IOException {
+            baseDir = Files.createTempDirectory("rwtool-bench-route");
+            routingService = new BenchSupport(baseDir).create(RoutingService.class);
+        }
+
+        @Setup(Level.Iteration)
+        public void fillIncoming() throws IOException {
+            SyntheticTree.delete(baseDir.resolve("incoming"));
+            SyntheticTree.delete(baseDir.resolve("reports"));
+            SyntheticTree.populateIncoming(baseDir, fileCount, 16);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            SyntheticTree.delete(baseDir);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    public Object dryRunDecisions(DryRunState state) {
+        return state.routingService.dryRunDecisions(state.names);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public Object runRoutingNow(RunState state) throws Exception {
+        return state.routingService.runRoutingNow();
+    }
+}
@@ -0,0 +1,72 @@
+package com.rwtool.benchmark;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/** Generates baseDir trees (incoming/, storage/, reports/&lt;folder&gt;/) for benchmarks. */
+final class SyntheticTree {
+
+    private SyntheticTree() {
+    }
+
+    /** Files named "&lt;Prefix&gt;__report-000042.pdf" spread over the known prefixes; returns their names. */
+    static List<String> populateIncoming(Path baseDir, int count, int bytes) throws IOException {
+        Path incoming = Files.createDirectories(baseDir.resolve("incoming"));
+        byte[] content = content(bytes);
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = String.format("%s__report-%06d.pdf", BenchSupport.PREFIXES[i % BenchSupport.PREFIXES.length], i);
+            Files.write(incoming.resolve(name), content);
+            names.add(name);
+        }
+        return names;
+    }
+
+    /** reports/Folder-00 .. Folder-NN with filesPerFolder files each; returns the folder names. */
+    static List<String> populateReports(Path baseDir, int folders, int filesPerFolder, int bytes) throws IOException {
+        byte[] content = content(bytes);
+        List<String> names = new ArrayList<>(folders);
+        for (int f = 0; f < folders; f++) {
+            String folder = String.format("Folder-%02d", f);
+            Path dir = Files.createDirectories(baseDir.resolve("reports").resolve(folder));
+            for (int i = 0; i < filesPerFolder; i++) {
+                Files.write(dir.resolve(String.format("report-%06d.pdf", i)), content);
+            }
+            names.add(folder);
+        }
+        return names;
+    }
+
+    static void delete(Path root) throws IOException {
+        if (!Files.exists(root)) {
+            return;
+        }
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    // Random bytes so compression in the ZIP benchmarks is not unrealistically cheap
+    private static byte[] content(int bytes) {
+        byte[] content = new byte[bytes];
+        new Random(42).nextBytes(content);
+        return content;
+    }
+}
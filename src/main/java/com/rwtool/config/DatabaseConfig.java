@@ -0,0 +1,13 @@
+package com.rwtool.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+/**
+ * Lowest-precedence database defaults (database-defaults.properties). Anything set in
+ * application.properties or a profile file wins.
+ */
+@Configuration
+@PropertySource("classpath:database-defaults.properties")
+public class DatabaseConfig {
+}
@@ -0,0 +1,77 @@
+package com.rwtool.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Thread factories for executors that mostly wait on disk, network or JDBC.
+ * With spring.threads.virtual.enabled=true on Java 21+ they create virtual threads, the same
+ * switch that moves Tomcat and Spring's task executors to virtual threads; otherwise daemon
+ * platform threads. Thread.ofVirtual() is looked up reflectively so the code still compiles
+ * and runs on Java 17. CPU-bound pools (BCrypt, PDF rendering, compression) keep platform threads.
+ */
+@Component
+public class IoThreads {
+
+    private static final Logger log = LoggerFactory.getLogger(IoThreads.class);
+
+    private static final Method OF_VIRTUAL;
+    private static final Method BUILDER_NAME;
+    private static final Method BUILDER_FACTORY;
+
+    static {
+        Method ofVirtual = null;
+        Method name = null;
+        Method factory = null;
+        try {
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            name = builder.getMethod("name", String.class, long.class);
+            factory = builder.getMethod("factory");
+        } catch (ReflectiveOperationException e) {
+            // Java 17-20: no virtual threads
+        }
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = name;
+        BUILDER_FACTORY = factory;
+    }
+
+    private final boolean virtual;
+
+    public IoThreads(@Value("${spring.threads.virtual.enabled:false}") boolean virtualEnabled) {
+        this.virtual = virtualEnabled && OF_VIRTUAL != null;
+        if (virtualEnabled && !virtual) {
+            log.info("spring.threads.virtual.enabled is set but Java {} has no virtual threads; using platform threads",
+                    Runtime.version().feature());
+        }
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /** Threads named prefix1, prefix2, ... */
+    public ThreadFactory factory(String prefix) {
+        if (virtual) {
+            try {
+                Object builder = OF_VIRTUAL.invoke(null);
+                builder = BUILDER_NAME.invoke(builder, prefix, 1L);
+                return (ThreadFactory) BUILDER_FACTORY.invoke(builder);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Could not create a virtual thread factory", e);
+            }
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
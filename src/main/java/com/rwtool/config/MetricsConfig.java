@@ -0,0 +1,43 @@
+package com.rwtool.config;
+
+import com.rwtool.service.DirectoryWatchService;
+import com.rwtool.service.RoutingJournal;
+import com.rwtool.service.UserDetailsCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Gauges exported next to the timers and counters recorded in place.
+ * Scraped from /actuator/prometheus once management.endpoints.web.exposure.include
+ * contains "prometheus".
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder rwtoolGauges(DirectoryWatchService directoryWatchService,
+                                    RoutingJournal routingJournal,
+                                    UserDetailsCache userDetailsCache,
+                                    PasswordEncoder passwordEncoder) {
+        return registry -> {
+            Gauge.builder("rwtool.routing.incoming.backlog", directoryWatchService,
+                            w -> w.size(DirectoryWatchService.INCOMING))
+                    .description("Files waiting in incoming")
+                    .register(registry);
+            Gauge.builder("rwtool.routing.journal.pending", routingJournal, RoutingJournal::pendingCount)
+                    .description("Routing moves started but not yet committed")
+                    .register(registry);
+            Gauge.builder("rwtool.cache.size", userDetailsCache, UserDetailsCache::size)
+                    .tag("cache", "users")
+                    .register(registry);
+            if (passwordEncoder instanceof BoundedPasswordEncoder bounded) {
+                Gauge.builder("rwtool.auth.bcrypt.queue", bounded, BoundedPasswordEncoder::getQueueDepth)
+                        .description("Password hashes waiting for a worker")
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.rwtool.config;
+
+import com.rwtool.service.RoutingScheduler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.time.Duration;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig implements SchedulingConfigurer {
+
+    private final RoutingScheduler routingScheduler;
+
+    @Value("${app.routing.schedule.enabled:false}")
+    private boolean routingScheduleEnabled;
+
+    // Cron wins when set, e.g. "0 */5 * * * *"; otherwise a fixed delay between the end of one run and the next
+    @Value("${app.routing.schedule.cron:}")
+    private String routingCron;
+
+    @Value("${app.routing.schedule.fixed-delay-ms:60000}")
+    private long routingFixedDelayMs;
+
+    public SchedulingConfig(RoutingScheduler routingScheduler) {
+        this.routingScheduler = routingScheduler;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (!routingScheduleEnabled) {
+            return;
+        }
+        if (routingCron != null && !routingCron.isBlank()) {
+            registrar.addCronTask(routingScheduler::runScheduled, routingCron);
+        } else {
+            registrar.addFixedDelayTask(routingScheduler::runScheduled, Duration.ofMillis(routingFixedDelayMs));
+        }
+    }
+}
@@ -1,7 +1,9 @@
 package com.rwtool.config;
 
 import com.rwtool.service.CustomUserDetailsService;
+import com.rwtool.service.UserPasswordUpgradeService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -10,8 +12,6 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -30,9 +30,29 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Autowired
+    private UserPasswordUpgradeService userPasswordUpgradeService;
+
+    @Value("${app.auth.bcrypt.strength:10}")
+    private int bcryptStrength;
+
+    @Value("${app.auth.bcrypt.threads:0}")
+    private int bcryptThreads;
+
+    @Value("${app.auth.bcrypt.queue-capacity:64}")
+    private int bcryptQueueCapacity;
+
+    @Value("${app.auth.bcrypt.timeout-ms:5000}")
+    private long bcryptTimeoutMs;
+
+    // Hashing runs on its own bounded pool (defaults to half the cores) so login bursts
+    // cannot starve report downloads; overload surfaces as 503 instead of queuing forever
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder() {
+        int threads = bcryptThreads > 0
+                ? bcryptThreads
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(bcryptStrength, threads, bcryptQueueCapacity, bcryptTimeoutMs);
     }
 
     @Bean
@@ -40,6 +60,8 @@ public class SecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Re-hash with the configured cost when an older, cheaper hash logs in successfully
+        authProvider.setUserDetailsPasswordService(userPasswordUpgradeService);
         return authProvider;
     }
 
@@ -56,7 +78,9 @@ public class SecurityConfig {
                 .headers(headers -> headers.frameOptions(frame -> frame.disable())) // Allow embedding in iframes (for PDF preview)
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/api/auth/hashing/**").hasAnyAuthority("ADMIN", "OPS") // Pool stats are operational data
                         .requestMatchers("/api/auth/**").permitAll() // Allow authentication endpoints
+                        .requestMatchers("/api/search/**").authenticated() // Results depend on the caller's folder access
                         .requestMatchers("/api/**").permitAll() // Allow all API endpoints for now (domains, subscriptions)
                         .requestMatchers("/reports/**").permitAll() // Allow report preview endpoints
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll() // Allow Swagger
@@ -1,9 +1,11 @@
 package com.rwtool.controller;
 
+import com.rwtool.config.BoundedPasswordEncoder;
 import com.rwtool.dto.AuthResponse;
 import com.rwtool.dto.LoginRequest;
 import com.rwtool.dto.SignupRequest;
 import com.rwtool.service.AuthService;
+import com.rwtool.service.UserPasswordUpgradeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,6 +16,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "http://localhost:3000")
@@ -23,10 +27,17 @@ public class AuthController {
     @Autowired
     private AuthService authService;
 
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UserPasswordUpgradeService userPasswordUpgradeService;
+
     @Operation(summary = "Register a new user", description = "Create a new user account")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "User created successfully"),
-            @ApiResponse(responseCode = "400", description = "Invalid input or email already exists")
+            @ApiResponse(responseCode = "400", description = "Invalid input or email already exists"),
+            @ApiResponse(responseCode = "503", description = "Password hashing pool is saturated, retry later")
     })
     @PostMapping("/signup")
     public ResponseEntity<AuthResponse> signup(@Valid @RequestBody SignupRequest request) {
@@ -37,11 +48,14 @@ public class AuthController {
     @Operation(summary = "Login user", description = "Authenticate user and return JWT token")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Login successful"),
-            @ApiResponse(responseCode = "401", description = "Invalid credentials")
+            @ApiResponse(responseCode = "401", description = "Invalid credentials"),
+            @ApiResponse(responseCode = "503", description = "Password hashing pool is saturated, retry later")
     })
     @PostMapping("/login")
     public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
         AuthResponse response = authService.login(request);
+        // AuthService.login throws on bad credentials, so the password is verified here
+        userPasswordUpgradeService.upgradeIfNeeded(request.getEmail(), request.getPassword());
         return ResponseEntity.ok(response);
     }
 
@@ -51,4 +65,14 @@ public class AuthController {
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("Auth service is running");
     }
+
+    @Operation(summary = "Password hashing stats", description = "Queue depth and rejection counts of the BCrypt pool (ADMIN or OPS)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Current pool statistics"),
+            @ApiResponse(responseCode = "403", description = "Caller is not ADMIN or OPS")
+    })
+    @GetMapping("/hashing/stats")
+    public ResponseEntity<Map<String, Object>> hashingStats() {
+        return ResponseEntity.ok(passwordEncoder.stats());
+    }
 }
\ No newline at end of file
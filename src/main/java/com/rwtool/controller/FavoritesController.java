@@ -1,5 +1,6 @@
 package com.rwtool.controller;
 
+import com.rwtool.dto.FavoriteItem;
 import com.rwtool.service.FavoriteService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -7,7 +8,6 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 @RestController
 @RequestMapping("/api/favorites")
@@ -25,15 +25,7 @@ public class FavoritesController {
      */
     @GetMapping
     public ResponseEntity<Map<String, Object>> listFavorites(@RequestParam String userId) {
-        Set<String> favs = favoriteService.list(userId);
-        // map back to objects of {folder, fileName}
-        List<Map<String, String>> items = favs.stream().map(k -> {
-            String[] parts = k.split("\\|", 2);
-            Map<String, String> m = new HashMap<>();
-            m.put("folder", parts.length > 0 ? parts[0] : "");
-            m.put("fileName", parts.length > 1 ? parts[1] : "");
-            return m;
-        }).toList();
+        List<FavoriteItem> items = favoriteService.list(userId);
         Map<String, Object> res = new HashMap<>();
         res.put("favorites", items);
         return ResponseEntity.ok(res);
@@ -1,6 +1,12 @@
 package com.rwtool.controller;
 
+import com.rwtool.service.CompressedVariantService;
+import com.rwtool.service.FileServingMetrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
 import org.springframework.http.HttpHeaders;
@@ -12,10 +18,13 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 
 @RestController
 @RequestMapping("/api/files")
@@ -25,15 +34,25 @@ public class FileDownloadController {
     @Value("${app.storage.local.baseDir:}")
     private String localBaseDir;
 
+    @Autowired
+    private FileServingMetrics fileServingMetrics;
+
+    @Autowired
+    private CompressedVariantService compressedVariantService;
+
     /**
      * Download a file from a specific folder
+     * Text reports (CSV etc.) are sent compressed when the client accepts it: a precompressed
+     * .br/.gz variant if one is up to date, otherwise gzip while writing the response
      * @param folder - folder name (e.g., "Finance", "Compliance")
      * @param fileName - file name
      */
     @GetMapping("/download")
-    public ResponseEntity<Resource> downloadFile(
+    public ResponseEntity<?> downloadFile(
             @RequestParam String folder,
-            @RequestParam String fileName) {
+            @RequestParam String fileName,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            HttpServletResponse response) {
 
         try {
             // Construct file path: baseDir/reports/folder/fileName
@@ -61,16 +80,65 @@ public class FileDownloadController {
                 contentType = "text/csv";
             }
 
+            if (compressedVariantService.isCompressible(filePath, resource.contentLength())) {
+                return downloadCompressed(filePath, resource, fileName, contentType, acceptEncoding, response);
+            }
+
             return ResponseEntity.ok()
                     .contentType(MediaType.parseMediaType(contentType))
                     .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
-                    .body(resource);
+                    .body(fileServingMetrics.metered("/api/files/download", resource));
 
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
     }
 
+    private ResponseEntity<?> downloadCompressed(Path filePath, Resource resource, String fileName,
+                                                 String contentType, String acceptEncoding,
+                                                 HttpServletResponse response) throws IOException {
+        Optional<CompressedVariantService.Variant> variant = compressedVariantService.select(filePath, acceptEncoding);
+        if (variant.isPresent()) {
+            Resource encoded = fileServingMetrics.metered("/api/files/download",
+                    new FileSystemResource(variant.get().file()));
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(contentType))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                    .header(HttpHeaders.CONTENT_ENCODING, variant.get().encoding())
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .body(encoded);
+        }
+
+        // No usable variant yet: build one in the background for the next download
+        compressedVariantService.scheduleGzip(filePath);
+
+        if (!CompressedVariantService.accepts(acceptEncoding, CompressedVariantService.GZIP)) {
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(contentType))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .body(fileServingMetrics.metered("/api/files/download", resource));
+        }
+
+        // Written on the request thread, like the Resource bodies above: as async work a large file
+        // on a slow client would be cut off by the MVC async request timeout
+        response.setContentType(contentType);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"");
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, CompressedVariantService.GZIP);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        OutputStream out = response.getOutputStream();
+        CompressedVariantService.StreamingGzip gzip = compressedVariantService.gzipStream(out);
+        try (InputStream is = resource.getInputStream()) {
+            is.transferTo(gzip);
+        }
+        // finish, not close: the container owns the response stream
+        gzip.finish();
+        response.flushBuffer();
+        fileServingMetrics.recordServed("/api/files/download", gzip.bytesWritten());
+        // the response is complete; nothing left for Spring to write
+        return null;
+    }
+
     /**
      * Download multiple files as a single ZIP
      * Request body example: { "files": [ {"folder":"Finance","fileName":"a.pdf"}, {"folder":"HR","fileName":"b.pdf"} ], "zipName": "reports.zip" }
@@ -86,6 +154,7 @@ public class FileDownloadController {
                 return ResponseEntity.badRequest().build();
             }
 
+            Timer.Sample zipTimer = fileServingMetrics.startZip();
             ByteArrayOutputStream baos = new ByteArrayOutputStream();
             try (ZipOutputStream zos = new ZipOutputStream(baos)) {
                 for (Map<String, String> f : files) {
@@ -111,6 +180,7 @@ public class FileDownloadController {
             }
 
             byte[] zipBytes = baos.toByteArray();
+            fileServingMetrics.recordZip(zipTimer, zipBytes.length);
             return ResponseEntity.ok()
                     .contentType(MediaType.APPLICATION_OCTET_STREAM)
                     .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + zipName + "\"")
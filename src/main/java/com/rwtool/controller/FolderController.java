@@ -1,13 +1,18 @@
 
 package com.rwtool.controller;
 
+import com.rwtool.service.DirectoryListingService;
 import com.rwtool.service.FolderService;
+import com.rwtool.service.ReportPreviewService;
 import com.rwtool.service.UserGroupService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-        import java.util.List;
+        import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -21,6 +26,12 @@ public class FolderController {
     @Autowired
     private UserGroupService userGroupService;
 
+    @Autowired
+    private DirectoryListingService directoryListingService;
+
+    @Autowired
+    private ReportPreviewService reportPreviewService;
+
     /**
      * Get all folders in the reports directory
      * Used by admin in UserGroupAccess to select folders
@@ -37,12 +48,19 @@ public class FolderController {
 
     /**
      * Get files from a specific folder
+     * Streamed straight from the directory so large folders are not built up in memory;
+     * listed through FolderService when there is no local baseDir
      */
     @GetMapping("/{folderName}/files")
-    public ResponseEntity<List<Map<String, Object>>> listFilesInFolder(@PathVariable String folderName) {
+    public ResponseEntity<StreamingResponseBody> listFilesInFolder(@PathVariable String folderName) {
         try {
-            List<Map<String, Object>> files = folderService.listFilesInFolder(folderName);
-            return ResponseEntity.ok(files);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(directoryListingService.isAvailable()
+                            ? directoryListingService.streamReportFolder(folderName)
+                            : directoryListingService.streamList(folderService.listFilesInFolder(folderName)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.status(500).build();
         }
@@ -61,7 +79,18 @@ public class FolderController {
             // Get all files from those folders
             List<Map<String, Object>> files = folderService.listFilesFromFolders(folders);
 
-            return ResponseEntity.ok(files);
+            // Thumbnail URLs so the list can show a preview without fetching each PDF
+            List<Map<String, Object>> withPreviews = files.stream().map(file -> {
+                String preview = reportPreviewService.previewUrl((String) file.get("folder"), (String) file.get("name"));
+                if (preview == null) {
+                    return file;
+                }
+                Map<String, Object> copy = new HashMap<>(file);
+                copy.put("preview", preview);
+                return copy;
+            }).toList();
+
+            return ResponseEntity.ok(withPreviews);
         } catch (Exception e) {
             return ResponseEntity.status(500).build();
         }
@@ -1,14 +1,31 @@
 package com.rwtool.controller;
 
 
+import com.rwtool.dto.BulkImportJobDTO;
+import com.rwtool.dto.BulkImportRequestDTO;
+import com.rwtool.dto.UrlIngestionJobDTO;
+import com.rwtool.dto.UrlIngestionRequestDTO;
+import com.rwtool.service.BulkImportService;
+import com.rwtool.service.ContentHashService;
+import com.rwtool.service.DirectoryListingService;
+import com.rwtool.service.DirectoryWatchService;
 import com.rwtool.service.StorageService;
+import com.rwtool.service.UrlIngestionService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.List;
 
 @RestController
 @CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000"}, allowCredentials = "false")
@@ -16,9 +33,24 @@ import java.util.List;
 public class OpsController {
 
     private final StorageService storageService;
+    private final DirectoryWatchService directoryWatchService;
+    private final ContentHashService contentHashService;
+    private final BulkImportService bulkImportService;
+    private final UrlIngestionService urlIngestionService;
+    private final DirectoryListingService directoryListingService;
 
-    public OpsController(StorageService storageService) {
+    @Value("${app.storage.local.baseDir:}")
+    private String localBaseDir;
+
+    public OpsController(StorageService storageService, DirectoryWatchService directoryWatchService,
+                         ContentHashService contentHashService, BulkImportService bulkImportService,
+                         UrlIngestionService urlIngestionService, DirectoryListingService directoryListingService) {
         this.storageService = storageService;
+        this.directoryWatchService = directoryWatchService;
+        this.contentHashService = contentHashService;
+        this.bulkImportService = bulkImportService;
+        this.urlIngestionService = urlIngestionService;
+        this.directoryListingService = directoryListingService;
     }
 
     // Upload a file into the local incoming folder (demo/local mode)
@@ -33,15 +65,98 @@ public class OpsController {
         return ResponseEntity.ok(resp);
     }
 
-    // List files under baseDir/storage (for OPS to choose to import)
+    // List files under baseDir/storage (for OPS to choose to import), streamed as it is scanned
+    // (StorageService's list when there is no local baseDir)
     @GetMapping("/storage")
-    public ResponseEntity<List<Map<String, Object>>> listStorage() throws Exception {
-        return ResponseEntity.ok(storageService.listStorageFiles());
+    public ResponseEntity<StreamingResponseBody> listStorage() throws Exception {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(directoryListingService.isAvailable()
+                        ? directoryListingService.streamBaseDir(DirectoryWatchService.STORAGE)
+                        : directoryListingService.streamList(storageService.listStorageFiles()));
+    }
+
+    // Server-Sent Events feed of baseDir/storage (snapshot on connect, then added/removed)
+    @GetMapping(value = "/storage/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStorage() {
+        return directoryWatchService.subscribe(DirectoryWatchService.STORAGE);
     }
 
     // Import a single file from storage to incoming
     @PostMapping("/import-storage")
     public ResponseEntity<Map<String, Object>> importFromStorage(@RequestParam("fileName") String fileName) throws Exception {
-        return ResponseEntity.ok(storageService.importFromStorage(fileName));
+        Path storageDir = Paths.get(localBaseDir).resolve(DirectoryWatchService.STORAGE).normalize();
+        Path source = storageDir.resolve(fileName).normalize();
+        if (!contentHashService.isEnabled() || !Files.isRegularFile(source)) {
+            return ResponseEntity.ok(storageService.importFromStorage(fileName));
+        }
+        if (!storageDir.equals(source.getParent())) {
+            throw new IllegalArgumentException("Invalid file name: " + fileName);
+        }
+        // With dedup enabled the copy is hashed as it is written, in staging; content that already
+        // exists in incoming or a report folder is dropped there instead of landing in incoming
+        String name = source.getFileName().toString();
+        Path tmp = Paths.get(localBaseDir).resolve(DirectoryWatchService.STAGING).resolve(name + ".part");
+        Path target = Paths.get(localBaseDir).resolve(DirectoryWatchService.INCOMING).resolve(name);
+        Files.createDirectories(tmp.getParent());
+        Files.createDirectories(target.getParent());
+        long size = Files.size(source);
+        ContentHashService.Decision decision = contentHashService.checkAnywhere(
+                contentHashService.copyWithHash(source, tmp, done -> { }));
+        Map<String, Object> resp = new HashMap<>();
+        if (decision.duplicate()) {
+            Files.delete(tmp);
+            resp.put("imported", false);
+            resp.put("duplicate", true);
+            resp.put("reason", "duplicate of " + decision.existing().getFolder() + "/" + decision.existing().getFileName());
+            return ResponseEntity.ok(resp);
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        contentHashService.record(ContentHashService.INCOMING_FOLDER, name, decision.sha256(), size);
+        resp.put("imported", true);
+        resp.put("path", target.toString());
+        return ResponseEntity.ok(resp);
+    }
+
+    // Import many files from storage to incoming concurrently; poll the returned job for progress
+    // Body: { "fileNames": ["a.pdf", "b.pdf"] } and/or { "glob": "Finance__*.pdf" }
+    @PostMapping("/import-storage/bulk")
+    public ResponseEntity<?> importFromStorageBulk(@RequestBody BulkImportRequestDTO request) {
+        try {
+            BulkImportJobDTO job = bulkImportService.start(request.getFileNames(), request.getGlob());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/import-storage/bulk/{jobId}")
+    public ResponseEntity<BulkImportJobDTO> getBulkImportJob(@PathVariable String jobId) {
+        return bulkImportService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Download a file from a URL into incoming in the background; poll the returned job for progress
+    // Body: { "url": "https://...", "fileName": "Finance__report.pdf" (optional) }
+    @PostMapping("/import-url")
+    public ResponseEntity<?> importFromUrl(@RequestBody UrlIngestionRequestDTO request) {
+        try {
+            UrlIngestionJobDTO job = urlIngestionService.submit(request.getUrl(), request.getFileName());
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/import-url/{jobId}")
+    public ResponseEntity<UrlIngestionJobDTO> getUrlImportJob(@PathVariable String jobId) {
+        return urlIngestionService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
     }
 }
\ No newline at end of file
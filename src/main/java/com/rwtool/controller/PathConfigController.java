@@ -4,6 +4,7 @@ package com.rwtool.controller;
 import com.rwtool.dto.PageResponse;
 import com.rwtool.dto.PathConfigRequest;
 import com.rwtool.model.PathConfig;
+import com.rwtool.service.ClusterEventService;
 import com.rwtool.service.PathConfigService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -13,9 +14,11 @@ import org.springframework.web.bind.annotation.*;
 public class PathConfigController {
 
     private final PathConfigService service;
+    private final ClusterEventService clusterEventService;
 
-    public PathConfigController(PathConfigService service) {
+    public PathConfigController(PathConfigService service, ClusterEventService clusterEventService) {
         this.service = service;
+        this.clusterEventService = clusterEventService;
     }
 
     @GetMapping
@@ -27,12 +30,16 @@ public class PathConfigController {
 
     @PostMapping
     public ResponseEntity<PathConfig> create(@RequestBody PathConfigRequest req) {
-        return ResponseEntity.ok(service.create(req));
+        PathConfig created = service.create(req);
+        clusterEventService.publish(ClusterEventService.TOPIC_PATH_CONFIG, String.valueOf(created.getId()));
+        return ResponseEntity.ok(created);
     }
 
     @PutMapping("/{id}")
     public ResponseEntity<PathConfig> update(@PathVariable Long id, @RequestBody PathConfigRequest req) {
-        return ResponseEntity.ok(service.update(id, req));
+        PathConfig updated = service.update(id, req);
+        clusterEventService.publish(ClusterEventService.TOPIC_PATH_CONFIG, String.valueOf(id));
+        return ResponseEntity.ok(updated);
     }
 
     @GetMapping("/{id}")
@@ -43,6 +50,7 @@ public class PathConfigController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         service.delete(id);
+        clusterEventService.publish(ClusterEventService.TOPIC_PATH_CONFIG, String.valueOf(id));
         return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
@@ -1,9 +1,15 @@
 package com.rwtool.controller;
 
+import com.rwtool.service.FileServingMetrics;
+import com.rwtool.service.ReportPreviewService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.UrlResource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -14,6 +20,9 @@ import java.util.HashMap;
 import java.util.Map;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @RestController
 @RequestMapping("/reports")
@@ -23,6 +32,12 @@ public class ReportController {
     @Value("${app.storage.local.baseDir:}")
     private String localBaseDir;
 
+    @Autowired
+    private FileServingMetrics fileServingMetrics;
+
+    @Autowired
+    private ReportPreviewService reportPreviewService;
+
     /**
      * Get report metadata by ID
      * @param id - report ID
@@ -112,8 +127,48 @@ public class ReportController {
                     .header(HttpHeaders.CACHE_CONTROL, "no-cache, no-store, must-revalidate")
                     .header(HttpHeaders.PRAGMA, "no-cache")
                     .header(HttpHeaders.EXPIRES, "0")
+                    .body(fileServingMetrics.metered("/reports/stream", resource));
+
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    /**
+     * First-page PNG thumbnail of a PDF report
+     * Served from the preview cache (rendered on first request if routing has not done it yet);
+     * the ETag is the content hash, so browsers revalidate without re-downloading
+     * @param folder - folder name
+     * @param fileName - file name
+     */
+    @GetMapping("/preview")
+    public ResponseEntity<Resource> previewThumbnail(
+            @RequestParam String folder,
+            @RequestParam String fileName,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+
+        try {
+            Optional<ReportPreviewService.Thumbnail> thumbnail = reportPreviewService.thumbnail(folder, fileName);
+            if (thumbnail.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            String etag = "\"" + thumbnail.get().sha256() + "\"";
+            CacheControl cacheControl = CacheControl.maxAge(1, TimeUnit.HOURS).cachePrivate();
+            if (etag.equals(ifNoneMatch)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+            }
+            Resource resource = fileServingMetrics.metered("/reports/preview", new FileSystemResource(thumbnail.get().file()));
+            return ResponseEntity.ok()
+                    .contentType(MediaType.IMAGE_PNG)
+                    .eTag(etag)
+                    .cacheControl(cacheControl)
                     .body(resource);
 
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (TimeoutException e) {
+            // still rendering; it will be cached shortly
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "2").build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
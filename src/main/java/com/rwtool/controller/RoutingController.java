@@ -1,7 +1,16 @@
 package com.rwtool.controller;
 
 
+import com.rwtool.service.DirectoryListingService;
+import com.rwtool.service.DirectoryWatchService;
+import com.rwtool.service.LocalRouter;
+import com.rwtool.service.RoutingClaimService;
+import com.rwtool.service.RoutingMetrics;
+import com.rwtool.service.RoutingScheduler;
 import com.rwtool.service.RoutingService;
+import com.rwtool.service.RoutingTraceService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -9,8 +18,12 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.List;
 
@@ -20,14 +33,46 @@ import java.util.List;
 public class RoutingController {
 
     private final RoutingService routingService;
+    private final LocalRouter localRouter;
+    private final DirectoryWatchService directoryWatchService;
+    private final RoutingScheduler routingScheduler;
+    private final DirectoryListingService directoryListingService;
+    private final RoutingMetrics routingMetrics;
+    private final RoutingTraceService routingTraceService;
+    private final RoutingClaimService routingClaimService;
 
-    public RoutingController(RoutingService routingService) {
+    public RoutingController(RoutingService routingService, LocalRouter localRouter,
+                             DirectoryWatchService directoryWatchService, RoutingScheduler routingScheduler,
+                             DirectoryListingService directoryListingService, RoutingMetrics routingMetrics,
+                             RoutingTraceService routingTraceService, RoutingClaimService routingClaimService) {
         this.routingService = routingService;
+        this.localRouter = localRouter;
+        this.directoryWatchService = directoryWatchService;
+        this.routingScheduler = routingScheduler;
+        this.directoryListingService = directoryListingService;
+        this.routingMetrics = routingMetrics;
+        this.routingTraceService = routingTraceService;
+        this.routingClaimService = routingClaimService;
     }
 
+    // Manual run shares the scheduler's guard: 409 while a scheduled or manual run is in progress.
+    // A local drain counts each move as it routes it; only RoutingService's run is counted from its summary
     @PostMapping("/run")
     public ResponseEntity<Map<String, Object>> runNow() {
-        return ResponseEntity.ok(routingService.runRoutingNow());
+        return routingScheduler.runExclusive(routingScheduler::runNow)
+                .map(summary -> {
+                    if (!localRouter.isLocal()) {
+                        routingMetrics.recordRun(summary);
+                    }
+                    return ResponseEntity.ok(summary);
+                })
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(Map.of("message", "A routing run is already in progress")));
+    }
+
+    @GetMapping("/schedule")
+    public ResponseEntity<Map<String, Object>> scheduleStatus() {
+        return ResponseEntity.ok(routingScheduler.status());
     }
 
     @PostMapping("/dry-run")
@@ -35,13 +80,46 @@ public class RoutingController {
         return ResponseEntity.ok(routingService.dryRunDecisions(fileNames));
     }
 
+    // Streamed as the directory is scanned, so large drops do not have to be held in memory
+    // (RoutingService's list when there is no local baseDir)
     @GetMapping("/incoming")
-    public ResponseEntity<List<Map<String, Object>>> listIncoming() {
-        return ResponseEntity.ok(routingService.listIncomingFiles());
+    public ResponseEntity<StreamingResponseBody> listIncoming() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(directoryListingService.isAvailable()
+                        ? directoryListingService.streamBaseDir(DirectoryWatchService.INCOMING)
+                        : directoryListingService.streamList(routingService.listIncomingFiles()));
+    }
+
+    // Server-Sent Events: snapshot on connect, then added/removed/routed as incoming changes
+    @GetMapping(value = "/incoming/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamIncoming() {
+        return directoryWatchService.subscribe(DirectoryWatchService.INCOMING);
     }
 
+    // Takes the same per-file claim as the drain: 409 while a run or another node is routing the file
     @PostMapping("/route-one")
     public ResponseEntity<Map<String, Object>> routeOne(@RequestParam("fileName") String fileName) {
-        return ResponseEntity.ok(routingService.routeSingle(fileName));
+        String name = fileName.trim();
+        if (!routingClaimService.tryClaim(name)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("message", "File is already being routed: " + name));
+        }
+        String runId = routingTraceService.beginRun();
+        try {
+            Map<String, Object> result = new HashMap<>(routingMetrics.routeOne(() -> localRouter.route(name)));
+            result.put("runId", runId);
+            return ResponseEntity.ok(result);
+        } finally {
+            routingTraceService.endRun();
+            routingClaimService.release(name);
+        }
+    }
+
+    // Stage timing breakdown (p50/p90/p99/max per stage, slowest files) for a run id returned by /run or /route-one
+    @GetMapping("/runs/{id}")
+    public ResponseEntity<Map<String, Object>> runReport(@PathVariable("id") String runId) {
+        Map<String, Object> report = routingTraceService.report(runId);
+        return report != null ? ResponseEntity.ok(report) : ResponseEntity.notFound().build();
     }
 }
\ No newline at end of file
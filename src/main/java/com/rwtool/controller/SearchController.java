@@ -0,0 +1,75 @@
+package com.rwtool.controller;
+
+import com.rwtool.dto.SearchHitDTO;
+import com.rwtool.service.ReportSearchService;
+import com.rwtool.service.UserGroupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "http://localhost:3000")
+public class SearchController {
+
+    private static final int MAX_LIMIT = 100;
+
+    @Autowired
+    private ReportSearchService reportSearchService;
+
+    @Autowired
+    private UserGroupService userGroupService;
+
+    /**
+     * Full-text search over reports the user can access
+     * Results are limited to the folders granted to the signed-in user's groups; folder narrows them further
+     * @param q - search text (Lucene syntax; plain words must all match)
+     */
+    @GetMapping
+    public ResponseEntity<?> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String folder,
+            @RequestParam(defaultValue = "20") int limit) {
+
+        String user = currentUser();
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        try {
+            List<String> folders = userGroupService.getUserAccessibleFolders(user);
+            if (folder != null && !folder.isBlank()) {
+                folders = folders.contains(folder) ? List.of(folder) : List.of();
+            }
+            List<SearchHitDTO> hits = reportSearchService.search(q, folders, Math.max(1, Math.min(limit, MAX_LIMIT)));
+
+            Map<String, Object> res = new HashMap<>();
+            res.put("query", q);
+            res.put("count", hits.size());
+            res.put("hits", hits);
+            return ResponseEntity.ok(res);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // /api/search requires authentication (SecurityConfig); never take the user from the request
+    private String currentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)) {
+            return auth.getName();
+        }
+        return null;
+    }
+}
@@ -1,9 +1,15 @@
 package com.rwtool.controller;
 
 import com.rwtool.dto.ApprovalDecisionDTO;
+import com.rwtool.dto.BulkReviewRequestDTO;
+import com.rwtool.dto.BulkReviewResultDTO;
+import com.rwtool.dto.CursorPageResponse;
 import com.rwtool.dto.SubscriptionRequestDTO;
 import com.rwtool.model.SubscriptionRequest;
+import com.rwtool.service.SubscriptionBulkReviewService;
+import com.rwtool.service.SubscriptionRequestQueryService;
 import com.rwtool.service.SubscriptionRequestService;
+import com.rwtool.service.SubscriptionStatsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -19,6 +25,15 @@ public class SubscriptionRequestController {
     @Autowired
     private SubscriptionRequestService subscriptionRequestService;
 
+    @Autowired
+    private SubscriptionStatsService subscriptionStatsService;
+
+    @Autowired
+    private SubscriptionRequestQueryService subscriptionRequestQueryService;
+
+    @Autowired
+    private SubscriptionBulkReviewService subscriptionBulkReviewService;
+
     // Get all subscription requests (for admin)
     @GetMapping
     public ResponseEntity<List<SubscriptionRequest>> getAllRequests() {
@@ -52,6 +67,26 @@ public class SubscriptionRequestController {
         }
     }
 
+    // Keyset-paginated listing with optional filters (admin and user dashboards)
+    // e.g. /page?status=PENDING&limit=50, then pass back nextCursor as ?cursor=...
+    @GetMapping("/page")
+    public ResponseEntity<?> getRequestsPage(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String domainId,
+            @RequestParam(required = false) String userEmail,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        try {
+            CursorPageResponse<SubscriptionRequest> page =
+                    subscriptionRequestQueryService.page(status, domainId, userEmail, cursor, limit);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     // Get request by ID
     @GetMapping("/{id}")
     public ResponseEntity<SubscriptionRequest> getRequestById(@PathVariable String id) {
@@ -87,6 +122,20 @@ public class SubscriptionRequestController {
         }
     }
 
+    // Approve or reject many requests in one transaction (for admin)
+    // Body: { "decisions": [ {"requestId":"...","action":"APPROVE"}, {"requestId":"...","action":"REJECT","rejectionReason":"..."} ] }
+    @PostMapping("/bulk-review")
+    public ResponseEntity<?> bulkReview(@RequestBody BulkReviewRequestDTO bulkRequest) {
+        try {
+            List<BulkReviewResultDTO> results = subscriptionBulkReviewService.review(bulkRequest);
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+
     // Approve request (for admin)
     @PutMapping("/{id}/approve")
     public ResponseEntity<?> approveRequest(@PathVariable String id) {
@@ -129,31 +178,7 @@ public class SubscriptionRequestController {
     @GetMapping("/stats")
     public ResponseEntity<?> getDashboardStats() {
         try {
-            List<SubscriptionRequest> allRequests = subscriptionRequestService.getAllRequests();
-
-            long totalRequests = allRequests.size();
-            long pendingCount = allRequests.stream()
-                    .filter(r -> "PENDING".equalsIgnoreCase(r.getStatus()))
-                    .count();
-            long approvedCount = allRequests.stream()
-                    .filter(r -> "APPROVED".equalsIgnoreCase(r.getStatus()))
-                    .count();
-            long rejectedCount = allRequests.stream()
-                    .filter(r -> "REJECTED".equalsIgnoreCase(r.getStatus()))
-                    .count();
-
-            double approvalRate = totalRequests > 0
-                    ? (approvedCount * 100.0) / (approvedCount + rejectedCount)
-                    : 0.0;
-
-            java.util.Map<String, Object> stats = new java.util.HashMap<>();
-            stats.put("totalRequests", totalRequests);
-            stats.put("pendingRequests", pendingCount);
-            stats.put("approvedRequests", approvedCount);
-            stats.put("rejectedRequests", rejectedCount);
-            stats.put("approvalRate", Math.round(approvalRate * 10) / 10.0); // Round to 1 decimal
-
-            return ResponseEntity.ok(stats);
+            return ResponseEntity.ok(subscriptionStatsService.getDashboardStats());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -0,0 +1,59 @@
+package com.rwtool.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Progress of a bulk storage-to-incoming import. Fields are updated by the copy workers
+ * while the job runs, so a poll sees live per-file state.
+ */
+public class BulkImportJobDTO {
+    private final String jobId;
+    private final Instant startedAt;
+    private final List<FileProgress> files;
+    private volatile Instant finishedAt;
+
+    public BulkImportJobDTO(String jobId, List<FileProgress> files) {
+        this.jobId = jobId;
+        this.startedAt = Instant.now();
+        this.files = files;
+    }
+
+    public String getJobId() { return jobId; }
+    public Instant getStartedAt() { return startedAt; }
+    public Instant getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(Instant finishedAt) { this.finishedAt = finishedAt; }
+    public List<FileProgress> getFiles() { return files; }
+
+    public boolean isDone() { return finishedAt != null; }
+    public int getTotal() { return files.size(); }
+    public long getImported() { return count("IMPORTED"); }
+    public long getSkipped() { return count("SKIPPED"); }
+    public long getFailed() { return count("FAILED"); }
+
+    private long count(String state) {
+        return files.stream().filter(f -> state.equals(f.getState())).count();
+    }
+
+    public static class FileProgress {
+        private final String fileName;
+        private volatile String state = "PENDING"; // PENDING, COPYING, IMPORTED, SKIPPED, FAILED
+        private volatile long bytesTotal;
+        private volatile long bytesDone;
+        private volatile String message;
+
+        public FileProgress(String fileName) {
+            this.fileName = fileName;
+        }
+
+        public String getFileName() { return fileName; }
+        public String getState() { return state; }
+        public void setState(String state) { this.state = state; }
+        public long getBytesTotal() { return bytesTotal; }
+        public void setBytesTotal(long bytesTotal) { this.bytesTotal = bytesTotal; }
+        public long getBytesDone() { return bytesDone; }
+        public void setBytesDone(long bytesDone) { this.bytesDone = bytesDone; }
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
@@ -0,0 +1,16 @@
+package com.rwtool.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkImportRequestDTO {
+    private List<String> fileNames = new ArrayList<>(); // explicit names under baseDir/storage
+    private String glob; // or a pattern such as "Finance__*.pdf"
+
+    public BulkImportRequestDTO() {}
+
+    public List<String> getFileNames() { return fileNames; }
+    public void setFileNames(List<String> fileNames) { this.fileNames = fileNames; }
+    public String getGlob() { return glob; }
+    public void setGlob(String glob) { this.glob = glob; }
+}
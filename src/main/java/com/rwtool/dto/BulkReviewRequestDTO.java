@@ -0,0 +1,56 @@
+package com.rwtool.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkReviewRequestDTO {
+    private List<Decision> decisions = new ArrayList<>();
+
+    public BulkReviewRequestDTO() {}
+
+    public List<Decision> getDecisions() {
+        return decisions;
+    }
+
+    public void setDecisions(List<Decision> decisions) {
+        this.decisions = decisions;
+    }
+
+    public static class Decision {
+        private String requestId;
+        private String action; // "APPROVE" or "REJECT"
+        private String rejectionReason; // Only for REJECT
+
+        public Decision() {}
+
+        public Decision(String requestId, String action, String rejectionReason) {
+            this.requestId = requestId;
+            this.action = action;
+            this.rejectionReason = rejectionReason;
+        }
+
+        public String getRequestId() {
+            return requestId;
+        }
+
+        public void setRequestId(String requestId) {
+            this.requestId = requestId;
+        }
+
+        public String getAction() {
+            return action;
+        }
+
+        public void setAction(String action) {
+            this.action = action;
+        }
+
+        public String getRejectionReason() {
+            return rejectionReason;
+        }
+
+        public void setRejectionReason(String rejectionReason) {
+            this.rejectionReason = rejectionReason;
+        }
+    }
+}
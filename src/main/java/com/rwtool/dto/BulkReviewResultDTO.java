@@ -0,0 +1,34 @@
+package com.rwtool.dto;
+
+public class BulkReviewResultDTO {
+    private String requestId;
+    private boolean success;
+    private String status; // resulting status when successful
+    private String message;
+
+    public BulkReviewResultDTO() {}
+
+    public BulkReviewResultDTO(String requestId, boolean success, String status, String message) {
+        this.requestId = requestId;
+        this.success = success;
+        this.status = status;
+        this.message = message;
+    }
+
+    public static BulkReviewResultDTO ok(String requestId, String status) {
+        return new BulkReviewResultDTO(requestId, true, status, null);
+    }
+
+    public static BulkReviewResultDTO failed(String requestId, String message) {
+        return new BulkReviewResultDTO(requestId, false, null, message);
+    }
+
+    public String getRequestId() { return requestId; }
+    public void setRequestId(String requestId) { this.requestId = requestId; }
+    public boolean isSuccess() { return success; }
+    public void setSuccess(boolean success) { this.success = success; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
@@ -0,0 +1,28 @@
+package com.rwtool.dto;
+
+import java.util.List;
+
+public class CursorPageResponse<T> {
+    private List<T> items;
+    private String nextCursor; // null when there are no more items
+    private boolean hasMore;
+    private int limit;
+
+    public CursorPageResponse() {}
+
+    public CursorPageResponse(List<T> items, String nextCursor, boolean hasMore, int limit) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        this.limit = limit;
+    }
+
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = limit; }
+}
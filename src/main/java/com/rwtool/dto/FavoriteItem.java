@@ -0,0 +1,32 @@
+package com.rwtool.dto;
+
+import java.util.Objects;
+
+public class FavoriteItem {
+    private String folder;
+    private String fileName;
+
+    public FavoriteItem() {}
+
+    public FavoriteItem(String folder, String fileName) {
+        this.folder = folder;
+        this.fileName = fileName;
+    }
+
+    public String getFolder() { return folder; }
+    public void setFolder(String folder) { this.folder = folder; }
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof FavoriteItem that)) return false;
+        return Objects.equals(folder, that.folder) && Objects.equals(fileName, that.fileName);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(folder, fileName);
+    }
+}
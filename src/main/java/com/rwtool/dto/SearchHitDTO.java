@@ -0,0 +1,34 @@
+package com.rwtool.dto;
+
+public class SearchHitDTO {
+    private String folder;
+    private String fileName;
+    private long size;
+    private long modified;
+    private float score;
+    private String preview; // thumbnail URL for PDFs, else null
+
+    public SearchHitDTO() {}
+
+    public SearchHitDTO(String folder, String fileName, long size, long modified, float score, String preview) {
+        this.folder = folder;
+        this.fileName = fileName;
+        this.size = size;
+        this.modified = modified;
+        this.score = score;
+        this.preview = preview;
+    }
+
+    public String getFolder() { return folder; }
+    public void setFolder(String folder) { this.folder = folder; }
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+    public long getSize() { return size; }
+    public void setSize(long size) { this.size = size; }
+    public long getModified() { return modified; }
+    public void setModified(long modified) { this.modified = modified; }
+    public float getScore() { return score; }
+    public void setScore(float score) { this.score = score; }
+    public String getPreview() { return preview; }
+    public void setPreview(String preview) { this.preview = preview; }
+}
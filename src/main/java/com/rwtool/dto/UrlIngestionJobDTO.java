@@ -0,0 +1,45 @@
+package com.rwtool.dto;
+
+import java.time.Instant;
+
+/**
+ * Status of one URL download into incoming. Updated by the ingestion service while the
+ * download runs; bytesDone reflects what has been written to the temp file so far.
+ */
+public class UrlIngestionJobDTO {
+    private final String jobId;
+    private final String url;
+    private final String fileName;
+    private final Instant submittedAt = Instant.now();
+    private volatile String state = "QUEUED"; // QUEUED, DOWNLOADING, DONE, FAILED
+    private volatile int attempts;
+    private volatile long bytesDone;
+    private volatile long bytesTotal = -1; // -1 when the server sent no Content-Length
+    private volatile String message;
+    private volatile Instant finishedAt;
+
+    public UrlIngestionJobDTO(String jobId, String url, String fileName) {
+        this.jobId = jobId;
+        this.url = url;
+        this.fileName = fileName;
+    }
+
+    public String getJobId() { return jobId; }
+    public String getUrl() { return url; }
+    public String getFileName() { return fileName; }
+    public Instant getSubmittedAt() { return submittedAt; }
+    public String getState() { return state; }
+    public void setState(String state) { this.state = state; }
+    public int getAttempts() { return attempts; }
+    public void setAttempts(int attempts) { this.attempts = attempts; }
+    public long getBytesDone() { return bytesDone; }
+    public void setBytesDone(long bytesDone) { this.bytesDone = bytesDone; }
+    public long getBytesTotal() { return bytesTotal; }
+    public void setBytesTotal(long bytesTotal) { this.bytesTotal = bytesTotal; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+    public Instant getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(Instant finishedAt) { this.finishedAt = finishedAt; }
+
+    public boolean isDone() { return finishedAt != null; }
+}
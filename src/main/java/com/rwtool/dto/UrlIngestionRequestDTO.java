@@ -0,0 +1,13 @@
+package com.rwtool.dto;
+
+public class UrlIngestionRequestDTO {
+    private String url;
+    private String fileName; // optional, defaults to the last path segment of the URL
+
+    public UrlIngestionRequestDTO() {}
+
+    public String getUrl() { return url; }
+    public void setUrl(String url) { this.url = url; }
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+}
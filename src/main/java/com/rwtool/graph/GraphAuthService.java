@@ -1,6 +1,7 @@
 package com.rwtool.graph;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
@@ -10,7 +11,13 @@ import org.springframework.web.client.RestTemplate;
 import java.time.Instant;
 import java.util.Map;
 
+/**
+ * Client-credentials token for Microsoft Graph. Only live (SharePoint) mode uses it, so the
+ * bean is lazy and its RestTemplate is built on the first token request; inject it with
+ * {@code @Lazy} so local mode never creates it.
+ */
 @Service
+@Lazy
 public class GraphAuthService {
     @Value("${app.msgraph.tenantId:}")
     private String tenantId;
@@ -18,11 +25,19 @@ public class GraphAuthService {
     private String clientId;
     @Value("${app.msgraph.clientSecret:}")
     private String clientSecret;
+    // Overridden by the load test to point at its stub Graph server
+    @Value("${app.msgraph.authority:https://login.microsoftonline.com}")
+    private String authority;
 
     private volatile String cachedToken;
     private volatile Instant tokenExpiry;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private volatile RestTemplate restTemplate;
+    private final GraphCallTimer graphCallTimer;
+
+    public GraphAuthService(GraphCallTimer graphCallTimer) {
+        this.graphCallTimer = graphCallTimer;
+    }
 
     public String getAccessToken() {
         if (cachedToken != null && tokenExpiry != null && Instant.now().isBefore(tokenExpiry.minusSeconds(60))) {
@@ -31,7 +46,7 @@ public class GraphAuthService {
         if (tenantId == null || tenantId.isBlank() || clientId == null || clientId.isBlank() || clientSecret == null || clientSecret.isBlank()) {
             throw new IllegalStateException("Graph credentials not configured");
         }
-        String url = "https://login.microsoftonline.com/" + tenantId + "/oauth2/v2.0/token";
+        String url = authority + "/" + tenantId + "/oauth2/v2.0/token";
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
         MultiValueMap<String, String> body = new LinkedMultiValueMap<>();
@@ -40,7 +55,7 @@ public class GraphAuthService {
         body.add("scope", "https://graph.microsoft.com/.default");
         body.add("grant_type", "client_credentials");
         HttpEntity<MultiValueMap<String, String>> req = new HttpEntity<>(body, headers);
-        ResponseEntity<Map> resp = restTemplate.postForEntity(url, req, Map.class);
+        ResponseEntity<Map> resp = graphCallTimer.time("token", () -> restTemplate().postForEntity(url, req, Map.class));
         if (!resp.getStatusCode().is2xxSuccessful() || resp.getBody() == null) {
             throw new RuntimeException("Failed to obtain access token");
         }
@@ -50,4 +65,17 @@ public class GraphAuthService {
         tokenExpiry = Instant.now().plusSeconds(expiresIn != null ? expiresIn.longValue() : 3000L);
         return cachedToken;
     }
+
+    private RestTemplate restTemplate() {
+        RestTemplate template = restTemplate;
+        if (template == null) {
+            synchronized (this) {
+                if (restTemplate == null) {
+                    restTemplate = new RestTemplate();
+                }
+                template = restTemplate;
+            }
+        }
+        return template;
+    }
 }
\ No newline at end of file
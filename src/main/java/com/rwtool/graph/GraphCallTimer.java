@@ -0,0 +1,40 @@
+package com.rwtool.graph;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Latency histogram for Microsoft Graph calls: rwtool.graph.requests{operation,outcome}.
+ * Wrap every call to Graph (token, drive listing, upload, download) so slow shares show up.
+ */
+@Component
+public class GraphCallTimer {
+
+    public static final String GRAPH_REQUESTS = "rwtool.graph.requests";
+
+    private final MeterRegistry registry;
+
+    public GraphCallTimer(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public <T> T time(String operation, Supplier<T> call) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            T result = call.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(Timer.builder(GRAPH_REQUESTS)
+                    .description("Microsoft Graph call latency")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.rwtool.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * SHA-256 of a file's content, recorded per folder ("incoming" or a report folder such as
+ * "reports/Finance") so repeated drops of the same bytes can be detected without re-reading them.
+ */
+@Entity
+@Table(name = "content_hashes", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_content_hashes_folder_file", columnNames = {"folder", "file_name"})
+}, indexes = {
+        @Index(name = "idx_content_hashes_sha_folder", columnList = "sha256, folder")
+})
+public class ContentHash {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 512)
+    private String folder;
+
+    @Column(name = "file_name", nullable = false, length = 512)
+    private String fileName;
+
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @Column(nullable = false)
+    private long size;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public ContentHash() {}
+
+    public ContentHash(String folder, String fileName, String sha256, long size) {
+        this.folder = folder;
+        this.fileName = fileName;
+        this.sha256 = sha256;
+        this.size = size;
+    }
+
+    @PrePersist
+    public void prePersist() {
+        if (this.createdAt == null) {
+            this.createdAt = Instant.now();
+        }
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getFolder() { return folder; }
+    public void setFolder(String folder) { this.folder = folder; }
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+    public String getSha256() { return sha256; }
+    public void setSha256(String sha256) { this.sha256 = sha256; }
+    public long getSize() { return size; }
+    public void setSize(long size) { this.size = size; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,55 @@
+package com.rwtool.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "favorites", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_favorites_user_folder_file", columnNames = {"user_id", "folder", "file_name"})
+}, indexes = {
+        @Index(name = "idx_favorites_user", columnList = "user_id")
+})
+public class Favorite {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(nullable = false, length = 255)
+    private String folder;
+
+    @Column(name = "file_name", nullable = false, length = 512)
+    private String fileName;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public Favorite() {}
+
+    public Favorite(String userId, String folder, String fileName) {
+        this.userId = userId;
+        this.folder = folder;
+        this.fileName = fileName;
+    }
+
+    @PrePersist
+    public void prePersist() {
+        if (this.createdAt == null) {
+            this.createdAt = Instant.now();
+        }
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public String getUserId() { return userId; }
+    public void setUserId(String userId) { this.userId = userId; }
+    public String getFolder() { return folder; }
+    public void setFolder(String folder) { this.folder = folder; }
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import java.time.Instant;
 
 @Entity
+@EntityListeners(PathConfigSearchListener.class)
 @Table(name = "path_configs", uniqueConstraints = {
         @UniqueConstraint(name = "uk_path_configs_prefix", columnNames = {"prefix"})
 })
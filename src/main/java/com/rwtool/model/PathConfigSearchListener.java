@@ -0,0 +1,26 @@
+package com.rwtool.model;
+
+import com.rwtool.service.PathConfigSearchIndex;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Marks the in-memory path config search index stale whenever a {@link PathConfig} changes.
+ * Instantiated by Hibernate through Spring's bean container, so the index is injected.
+ */
+public class PathConfigSearchListener {
+
+    @Autowired
+    private PathConfigSearchIndex searchIndex;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void afterChange(PathConfig pathConfig) {
+        if (searchIndex != null) {
+            searchIndex.invalidateAfterCommit();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.rwtool.model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * A time-limited claim on one incoming file, so that only one node routes it.
+ * Rows are written with INSERT ... ON CONFLICT by RoutingClaimService; the entity only defines the table.
+ */
+@Entity
+@Table(name = "routing_claims")
+public class RoutingClaim {
+    @Id
+    @Column(name = "file_name", length = 512)
+    private String fileName;
+
+    @Column(name = "claimed_by", nullable = false, length = 128)
+    private String claimedBy;
+
+    @Column(name = "claimed_at", nullable = false)
+    private Instant claimedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    public RoutingClaim() {}
+
+    public String getFileName() { return fileName; }
+    public void setFileName(String fileName) { this.fileName = fileName; }
+    public String getClaimedBy() { return claimedBy; }
+    public void setClaimedBy(String claimedBy) { this.claimedBy = claimedBy; }
+    public Instant getClaimedAt() { return claimedAt; }
+    public void setClaimedAt(Instant claimedAt) { this.claimedAt = claimedAt; }
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+}
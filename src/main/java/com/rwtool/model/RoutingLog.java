@@ -5,7 +5,9 @@ import jakarta.persistence.*;
 import java.time.Instant;
 
 @Entity
-@Table(name = "routing_logs")
+@Table(name = "routing_logs", indexes = {
+        @Index(name = "idx_routing_logs_run_id", columnList = "run_id")
+})
 public class RoutingLog {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -29,6 +31,16 @@ public class RoutingLog {
     @Column(nullable = false)
     private Instant createdAt;
 
+    // Trace of the routing run that produced this row; stage timings in microseconds (null when not traced)
+    @Column(name = "run_id", length = 36)
+    private String runId;
+
+    private Long discoverUs;
+    private Long decideUs;
+    private Long mkdirUs;
+    private Long moveUs;
+    private Long persistUs;
+
     public RoutingLog() {}
 
     public RoutingLog(Long id, String fileName, String action, String fromPath, String toPath, String message, Instant createdAt) {
@@ -62,4 +74,16 @@ public class RoutingLog {
     public void setMessage(String message) { this.message = message; }
     public Instant getCreatedAt() { return createdAt; }
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+    public String getRunId() { return runId; }
+    public void setRunId(String runId) { this.runId = runId; }
+    public Long getDiscoverUs() { return discoverUs; }
+    public void setDiscoverUs(Long discoverUs) { this.discoverUs = discoverUs; }
+    public Long getDecideUs() { return decideUs; }
+    public void setDecideUs(Long decideUs) { this.decideUs = decideUs; }
+    public Long getMkdirUs() { return mkdirUs; }
+    public void setMkdirUs(Long mkdirUs) { this.mkdirUs = mkdirUs; }
+    public Long getMoveUs() { return moveUs; }
+    public void setMoveUs(Long moveUs) { this.moveUs = moveUs; }
+    public Long getPersistUs() { return persistUs; }
+    public void setPersistUs(Long persistUs) { this.persistUs = persistUs; }
 }
\ No newline at end of file
@@ -4,7 +4,14 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "subscription_requests")
+@Table(name = "subscription_requests", indexes = {
+        // Composite indexes matching the keyset listing: filter columns first, then (requested_date, id)
+        @Index(name = "idx_sub_req_requested_id", columnList = "requested_date, id"),
+        @Index(name = "idx_sub_req_status_requested_id", columnList = "status, requested_date, id"),
+        @Index(name = "idx_sub_req_user_requested_id", columnList = "user_email, requested_date, id"),
+        @Index(name = "idx_sub_req_domain_status_requested_id", columnList = "domain_id, status, requested_date, id")
+})
+@EntityListeners(SubscriptionStatsListener.class)
 public class SubscriptionRequest {
 
     @Id
@@ -43,11 +50,25 @@ public class SubscriptionRequest {
     @Column(name = "user_role")
     private String userRole;
 
+    // Status as last read from / written to the database, used to detect transitions
+    @Transient
+    private String persistedStatus;
+
     public SubscriptionRequest() {
         this.requestedDate = LocalDateTime.now();
         this.status = "PENDING";
     }
 
+    @PostLoad
+    @PostPersist
+    void rememberPersistedStatus() {
+        this.persistedStatus = this.status;
+    }
+
+    String getPersistedStatus() {
+        return persistedStatus;
+    }
+
     // Getters and Setters
     public String getId() {
         return id;
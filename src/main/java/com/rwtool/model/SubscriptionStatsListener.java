@@ -0,0 +1,41 @@
+package com.rwtool.model;
+
+import com.rwtool.service.SubscriptionStatsService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Feeds status transitions of {@link SubscriptionRequest} into the in-memory dashboard counters.
+ * Instantiated by Hibernate through Spring's bean container, so the service is injected.
+ */
+public class SubscriptionStatsListener {
+
+    @Autowired
+    private SubscriptionStatsService statsService;
+
+    @PostPersist
+    public void afterCreate(SubscriptionRequest request) {
+        if (statsService != null) {
+            statsService.recordTransition(null, request.getStatus());
+        }
+    }
+
+    @PostUpdate
+    public void afterUpdate(SubscriptionRequest request) {
+        String before = request.getPersistedStatus();
+        if (statsService != null && (before == null || !before.equalsIgnoreCase(request.getStatus()))) {
+            statsService.recordTransition(before, request.getStatus());
+        }
+        request.rememberPersistedStatus();
+    }
+
+    @PostRemove
+    public void afterDelete(SubscriptionRequest request) {
+        if (statsService != null) {
+            String status = request.getPersistedStatus() != null ? request.getPersistedStatus() : request.getStatus();
+            statsService.recordTransition(status, null);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.rwtool.repository;
+
+import com.rwtool.model.ContentHash;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ContentHashRepository extends JpaRepository<ContentHash, Long> {
+    List<ContentHash> findBySha256AndFolder(String sha256, String folder);
+    List<ContentHash> findBySha256(String sha256);
+    Optional<ContentHash> findByFolderAndFileName(String folder, String fileName);
+
+    @Modifying
+    @Query("DELETE FROM ContentHash c WHERE c.folder = :folder AND c.fileName = :fileName")
+    int deleteByFolderAndFileName(@Param("folder") String folder, @Param("fileName") String fileName);
+}
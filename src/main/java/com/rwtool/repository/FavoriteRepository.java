@@ -0,0 +1,20 @@
+package com.rwtool.repository;
+
+import com.rwtool.model.Favorite;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface FavoriteRepository extends JpaRepository<Favorite, Long> {
+    List<Favorite> findByUserIdOrderByCreatedAtDesc(String userId);
+    boolean existsByUserIdAndFolderAndFileName(String userId, String folder, String fileName);
+
+    @Modifying
+    @Query("DELETE FROM Favorite f WHERE f.userId = :userId AND f.folder = :folder AND f.fileName = :fileName")
+    int deleteFavorite(@Param("userId") String userId, @Param("folder") String folder, @Param("fileName") String fileName);
+}
@@ -2,17 +2,10 @@ package com.rwtool.repository;
 
 
 import com.rwtool.model.PathConfig;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
 
-public interface PathConfigRepository extends JpaRepository<PathConfig, Long> {
+// search(String, Pageable) is implemented in PathConfigRepositoryImpl
+public interface PathConfigRepository extends JpaRepository<PathConfig, Long>, PathConfigRepositoryCustom {
 
     boolean existsByPrefixIgnoreCase(String prefix);
-
-    @Query("select p from PathConfig p where lower(p.prefix) like lower(concat('%', :search, '%')) " +
-            "or lower(p.sourcePath) like lower(concat('%', :search, '%')) " +
-            "or lower(p.outputPath) like lower(concat('%', :search, '%'))")
-    Page<PathConfig> search(String search, Pageable pageable);
 }
@@ -0,0 +1,14 @@
+package com.rwtool.repository;
+
+import com.rwtool.model.PathConfig;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface PathConfigRepositoryCustom {
+
+    /**
+     * Case-insensitive substring match on prefix, sourcePath or outputPath.
+     * Uses the pg_trgm indexes on Postgres and the in-memory trigram index elsewhere.
+     */
+    Page<PathConfig> search(String search, Pageable pageable);
+}
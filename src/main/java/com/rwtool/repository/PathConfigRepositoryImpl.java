@@ -0,0 +1,123 @@
+package com.rwtool.repository;
+
+import com.rwtool.model.PathConfig;
+import com.rwtool.service.PathConfigSearchIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PathConfigRepositoryImpl implements PathConfigRepositoryCustom {
+
+    private static final String WHERE = " where lower(p.prefix) like :pattern escape '\\'" +
+            " or lower(p.sourcePath) like :pattern escape '\\'" +
+            " or lower(p.outputPath) like :pattern escape '\\'";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PathConfigSearchIndex searchIndex;
+
+    @Override
+    public Page<PathConfig> search(String search, Pageable pageable) {
+        if (searchIndex.isDatabaseIndexed()) {
+            return searchDatabase(search == null ? "" : search, pageable);
+        }
+        return searchInMemory(search == null ? "" : search, pageable);
+    }
+
+    // Same predicate as before; the expression indexes on lower(column) make it an index scan
+    private Page<PathConfig> searchDatabase(String search, Pageable pageable) {
+        String pattern = "%" + escapeLike(search.toLowerCase()) + "%";
+        String jpql = QueryUtils.applySorting("select p from PathConfig p" + WHERE,
+                pageable.getSort(), "p");
+        TypedQuery<PathConfig> query = entityManager.createQuery(jpql, PathConfig.class)
+                .setParameter("pattern", pattern);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        Long total = entityManager.createQuery(
+                        "select count(p) from PathConfig p" + WHERE, Long.class)
+                .setParameter("pattern", pattern)
+                .getSingleResult();
+        return new PageImpl<>(query.getResultList(), pageable, total);
+    }
+
+    // Ids come from the trigram index; only the requested page is loaded
+    private Page<PathConfig> searchInMemory(String search, Pageable pageable) {
+        List<Long> ids = searchIndex.search(search);
+        Sort sort = pageable.getSort();
+        if (sort.isSorted()) {
+            // Sorting needs the column values; with thousands of rows this is still a single small query
+            List<PathConfig> all = ids.isEmpty() ? List.of() : entityManager
+                    .createQuery("select p from PathConfig p where p.id in :ids", PathConfig.class)
+                    .setParameter("ids", ids)
+                    .getResultList();
+            List<PathConfig> sorted = new ArrayList<>(all);
+            sorted.sort(comparator(sort));
+            return new PageImpl<>(slice(sorted, pageable), pageable, sorted.size());
+        }
+        List<Long> pageIds = slice(ids, pageable);
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, ids.size());
+        }
+        Map<Long, PathConfig> byId = new HashMap<>();
+        entityManager.createQuery("select p from PathConfig p where p.id in :ids", PathConfig.class)
+                .setParameter("ids", pageIds)
+                .getResultList()
+                .forEach(p -> byId.put(p.getId(), p));
+        List<PathConfig> page = new ArrayList<>();
+        for (Long id : pageIds) {
+            PathConfig p = byId.get(id);
+            if (p != null) {
+                page.add(p);
+            }
+        }
+        return new PageImpl<>(page, pageable, ids.size());
+    }
+
+    private static <T> List<T> slice(List<T> items, Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return items;
+        }
+        int from = (int) Math.min(pageable.getOffset(), items.size());
+        int to = Math.min(from + pageable.getPageSize(), items.size());
+        return items.subList(from, to);
+    }
+
+    private static Comparator<PathConfig> comparator(Sort sort) {
+        Comparator<PathConfig> result = null;
+        for (Sort.Order order : sort) {
+            Comparator<PathConfig> c = switch (order.getProperty()) {
+                case "prefix" -> Comparator.comparing(PathConfig::getPrefix, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+                case "sourcePath" -> Comparator.comparing(PathConfig::getSourcePath, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+                case "outputPath" -> Comparator.comparing(PathConfig::getOutputPath, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+                case "status" -> Comparator.comparing(PathConfig::getStatus, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+                case "createdAt" -> Comparator.comparing(PathConfig::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()));
+                default -> Comparator.comparing(PathConfig::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+            };
+            if (order.isDescending()) {
+                c = c.reversed();
+            }
+            result = result == null ? c : result.thenComparing(c);
+        }
+        return result;
+    }
+
+    private static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
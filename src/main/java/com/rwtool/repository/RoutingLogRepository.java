@@ -4,5 +4,10 @@ package com.rwtool.repository;
 import com.rwtool.model.RoutingLog;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.List;
+
 public interface RoutingLogRepository extends JpaRepository<RoutingLog, Long> {
+    boolean existsByFileNameAndToPathAndAction(String fileName, String toPath, String action);
+
+    List<RoutingLog> findByRunIdOrderByIdAsc(String runId);
 }
\ No newline at end of file
@@ -2,15 +2,20 @@ package com.rwtool.repository;
 
 import com.rwtool.model.SubscriptionRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface SubscriptionRequestRepository extends JpaRepository<SubscriptionRequest, String> {
+public interface SubscriptionRequestRepository extends JpaRepository<SubscriptionRequest, String>, SubscriptionRequestRepositoryCustom {
     List<SubscriptionRequest> findByStatus(String status);
     List<SubscriptionRequest> findByUserEmail(String userEmail);
     Optional<SubscriptionRequest> findByUserEmailAndDomainIdAndStatus(String userEmail, String domainId, String status);
     List<SubscriptionRequest> findByUserEmailOrderByRequestedDateDesc(String userEmail);
+
+    // One row per status: [status, count]
+    @Query("SELECT UPPER(s.status), COUNT(s) FROM SubscriptionRequest s GROUP BY UPPER(s.status)")
+    List<Object[]> countGroupedByStatus();
 }
\ No newline at end of file
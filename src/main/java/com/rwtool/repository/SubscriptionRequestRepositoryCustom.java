@@ -0,0 +1,16 @@
+package com.rwtool.repository;
+
+import com.rwtool.model.SubscriptionRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SubscriptionRequestRepositoryCustom {
+
+    /**
+     * Keyset page ordered by requestedDate desc, id desc. Null filters are ignored;
+     * afterDate/afterId are the sort keys of the last row of the previous page (both null for the first page).
+     */
+    List<SubscriptionRequest> findPage(String status, String domainId, String userEmail,
+                                       LocalDateTime afterDate, String afterId, int limit);
+}
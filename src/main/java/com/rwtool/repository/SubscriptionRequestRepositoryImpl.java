@@ -0,0 +1,48 @@
+package com.rwtool.repository;
+
+import com.rwtool.model.SubscriptionRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SubscriptionRequestRepositoryImpl implements SubscriptionRequestRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<SubscriptionRequest> findPage(String status, String domainId, String userEmail,
+                                              LocalDateTime afterDate, String afterId, int limit) {
+        // Only the predicates actually supplied are rendered so the planner can pick the matching composite index
+        StringBuilder jpql = new StringBuilder("SELECT s FROM SubscriptionRequest s WHERE s.requestedDate IS NOT NULL");
+        Map<String, Object> params = new HashMap<>();
+        if (status != null) {
+            jpql.append(" AND s.status = :status");
+            params.put("status", status);
+        }
+        if (domainId != null) {
+            jpql.append(" AND s.domainId = :domainId");
+            params.put("domainId", domainId);
+        }
+        if (userEmail != null) {
+            jpql.append(" AND s.userEmail = :userEmail");
+            params.put("userEmail", userEmail);
+        }
+        if (afterDate != null && afterId != null) {
+            jpql.append(" AND (s.requestedDate < :afterDate OR (s.requestedDate = :afterDate AND s.id < :afterId))");
+            params.put("afterDate", afterDate);
+            params.put("afterId", afterId);
+        }
+        jpql.append(" ORDER BY s.requestedDate DESC, s.id DESC");
+
+        TypedQuery<SubscriptionRequest> query = entityManager.createQuery(jpql.toString(), SubscriptionRequest.class);
+        params.forEach(query::setParameter);
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+}
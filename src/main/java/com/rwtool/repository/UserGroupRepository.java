@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +14,7 @@ import java.util.Optional;
 public interface UserGroupRepository extends JpaRepository<UserGroup, Long> {
     Optional<UserGroup> findByAdGroupName(String adGroupName);
     Optional<UserGroup> findByAssociatedDomain(String associatedDomain);
+    List<UserGroup> findByAssociatedDomainIn(Collection<String> associatedDomains);
 
     @Query("SELECT g FROM UserGroup g JOIN g.members m WHERE m = :email")
     List<UserGroup> findByMemberEmail(@Param("email") String email);
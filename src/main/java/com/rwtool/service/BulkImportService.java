@@ -0,0 +1,252 @@
+package com.rwtool.service;
+
+import com.rwtool.config.IoThreads;
+import com.rwtool.dto.BulkImportJobDTO;
+import com.rwtool.dto.BulkImportJobDTO.FileProgress;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Imports many files from baseDir/storage into baseDir/incoming concurrently.
+ * Within one volume a file is renamed with Files.move (no bytes copied); across volumes it
+ * is streamed in chunks with FileChannel.transferTo into a ".part" file under baseDir/.staging
+ * that is renamed into incoming once complete, so routing never sees a half-written file.
+ * With app.dedup.enabled the cross-volume copy is hashed as it streams (in place of transferTo)
+ * and a duplicate is dropped from staging; a rename hashes the file once before moving it. Progress is tracked per file on a job
+ * that the Ops UI polls.
+ */
+@Service
+public class BulkImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkImportService.class);
+
+    private final ContentHashService contentHashService;
+    private final IoThreads ioThreads;
+
+    @Value("${app.storage.local.baseDir:}")
+    private String localBaseDir;
+
+    @Value("${app.ops.bulk-import.threads:4}")
+    private int threads;
+
+    @Value("${app.ops.bulk-import.max-files:5000}")
+    private int maxFiles;
+
+    @Value("${app.ops.bulk-import.chunk-bytes:8388608}")
+    private long chunkBytes;
+
+    @Value("${app.ops.bulk-import.retention-minutes:60}")
+    private long retentionMinutes;
+
+    private final Map<String, BulkImportJobDTO> jobs = new ConcurrentHashMap<>();
+    private ExecutorService executor;
+
+    public BulkImportService(ContentHashService contentHashService, IoThreads ioThreads) {
+        this.contentHashService = contentHashService;
+        this.ioThreads = ioThreads;
+    }
+
+    @PostConstruct
+    public void start() {
+        // Fixed size even with virtual threads: the pool bounds how many files move at once
+        executor = Executors.newFixedThreadPool(Math.max(1, threads), ioThreads.factory("bulk-import-"));
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    /** Start importing the given names and/or every storage file matching glob; returns immediately. */
+    public BulkImportJobDTO start(List<String> fileNames, String glob) throws IOException {
+        if (localBaseDir == null || localBaseDir.isBlank()) {
+            throw new IllegalStateException("app.storage.local.baseDir is not configured");
+        }
+        Path storageDir = Paths.get(localBaseDir).resolve("storage").normalize();
+        Path incomingDir = Paths.get(localBaseDir).resolve(DirectoryWatchService.INCOMING).normalize();
+        Path stagingDir = Paths.get(localBaseDir).resolve(DirectoryWatchService.STAGING).normalize();
+        Files.createDirectories(incomingDir);
+        Files.createDirectories(stagingDir);
+
+        Set<String> names = new LinkedHashSet<>();
+        if (fileNames != null) {
+            for (String name : fileNames) {
+                Path resolved = storageDir.resolve(name).normalize();
+                if (!storageDir.equals(resolved.getParent())) {
+                    throw new IllegalArgumentException("Invalid file name: " + name);
+                }
+                names.add(resolved.getFileName().toString());
+            }
+        }
+        if (glob != null && !glob.isBlank()) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(storageDir, glob)) {
+                for (Path file : stream) {
+                    if (Files.isRegularFile(file)) {
+                        names.add(file.getFileName().toString());
+                    }
+                }
+            }
+        }
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("No files to import");
+        }
+        if (names.size() > maxFiles) {
+            throw new IllegalArgumentException("Too many files in one import (max " + maxFiles + ")");
+        }
+
+        pruneFinishedJobs();
+        List<FileProgress> files = new ArrayList<>();
+        names.forEach(name -> files.add(new FileProgress(name)));
+        BulkImportJobDTO job = new BulkImportJobDTO(UUID.randomUUID().toString(), files);
+        jobs.put(job.getJobId(), job);
+
+        boolean sameStore = Files.getFileStore(storageDir).equals(Files.getFileStore(incomingDir));
+        AtomicInteger remaining = new AtomicInteger(files.size());
+        for (FileProgress progress : files) {
+            executor.submit(() -> {
+                try {
+                    importOne(storageDir.resolve(progress.getFileName()), incomingDir.resolve(progress.getFileName()),
+                            stagingDir.resolve(progress.getFileName() + ".part"), sameStore, progress);
+                } finally {
+                    if (remaining.decrementAndGet() == 0) {
+                        job.setFinishedAt(Instant.now());
+                        log.info("Bulk import {} finished: {} imported, {} skipped, {} failed",
+                                job.getJobId(), job.getImported(), job.getSkipped(), job.getFailed());
+                    }
+                }
+            });
+        }
+        return job;
+    }
+
+    public Optional<BulkImportJobDTO> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    private void importOne(Path source, Path target, Path tmp, boolean sameStore, FileProgress progress) {
+        progress.setState("COPYING");
+        try {
+            if (!Files.isRegularFile(source)) {
+                skip(progress, "not found in storage");
+                return;
+            }
+            if (Files.exists(target)) {
+                skip(progress, "already in incoming");
+                return;
+            }
+            long size = Files.size(source);
+            progress.setBytesTotal(size);
+
+            if (contentHashService.isEnabled()) {
+                importHashed(source, target, tmp, sameStore, size, progress);
+                return;
+            }
+            if (sameStore) {
+                try {
+                    Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    transfer(source, tmp, target, progress);
+                }
+            } else {
+                transfer(source, tmp, target, progress);
+            }
+            progress.setBytesDone(size);
+            progress.setState("IMPORTED");
+        } catch (IOException | RuntimeException e) {
+            progress.setState("FAILED");
+            progress.setMessage(e.getMessage());
+            log.warn("Bulk import of {} failed: {}", progress.getFileName(), e.getMessage());
+        }
+    }
+
+    // Dedup: one read per file, either hashing before a rename or hashing the copy as it is written
+    private void importHashed(Path source, Path target, Path tmp, boolean sameStore, long size,
+                              FileProgress progress) throws IOException {
+        ContentHashService.Decision decision;
+        if (sameStore) {
+            decision = contentHashService.checkAnywhere(source);
+            if (decision.duplicate()) {
+                skipDuplicate(progress, decision);
+                return;
+            }
+            try {
+                Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                transfer(source, tmp, target, progress);
+            }
+        } else {
+            decision = contentHashService.checkAnywhere(
+                    contentHashService.copyWithHash(source, tmp, progress::setBytesDone));
+            if (decision.duplicate()) {
+                Files.delete(tmp);
+                skipDuplicate(progress, decision);
+                return;
+            }
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            Files.delete(source);
+        }
+        progress.setBytesDone(size);
+        contentHashService.record(ContentHashService.INCOMING_FOLDER, progress.getFileName(), decision.sha256(), size);
+        progress.setState("IMPORTED");
+    }
+
+    // Cross-volume: chunked copy into the staging file, rename it into incoming, then remove the source
+    private void transfer(Path source, Path tmp, Path target, FileProgress progress) throws IOException {
+        try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                     StandardOpenOption.WRITE)) {
+            long size = in.size();
+            long position = 0;
+            while (position < size) {
+                position += in.transferTo(position, Math.min(chunkBytes, size - position), out);
+                progress.setBytesDone(position);
+            }
+            out.force(true);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        Files.delete(source);
+    }
+
+    private void skipDuplicate(FileProgress progress, ContentHashService.Decision decision) {
+        skip(progress, "duplicate of " + decision.existing().getFolder() + "/" + decision.existing().getFileName());
+    }
+
+    private void skip(FileProgress progress, String reason) {
+        progress.setState("SKIPPED");
+        progress.setMessage(reason);
+    }
+
+    private void pruneFinishedJobs() {
+        Instant cutoff = Instant.now().minusSeconds(retentionMinutes * 60);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+}
@@ -0,0 +1,206 @@
+package com.rwtool.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts cache invalidation events between nodes with Postgres LISTEN/NOTIFY.
+ * Payloads are "nodeId|topic|key"; a node ignores its own events because it has already
+ * invalidated locally. NOTIFY is transactional, so an event published inside a transaction
+ * is only delivered once that transaction commits. Code that fires per entity (JPA callbacks)
+ * uses {@link #publishAfterCommit} so a transaction touching many rows sends each event once.
+ * After the listening connection is lost, every handler receives {@link #ALL} to drop
+ * whatever may have been missed.
+ */
+@Service
+public class ClusterEventService {
+
+    public static final String CHANNEL = "rwtool_cache";
+    public static final String ALL = "*";
+
+    public static final String TOPIC_USER = "user";
+    public static final String TOPIC_FAVORITES = "favorites";
+    public static final String TOPIC_PATH_CONFIG = "pathConfig";
+    public static final String TOPIC_SUBSCRIPTION_STATS = "subscriptionStats";
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterEventService.class);
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ClusterNode clusterNode;
+    private final Map<String, List<Consumer<String>>> handlers = new ConcurrentHashMap<>();
+    // Transaction resource key for the events a transaction will publish when it commits
+    private final Object pendingKey = new Object();
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public ClusterEventService(DataSource dataSource, JdbcTemplate jdbcTemplate, ClusterNode clusterNode) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.clusterNode = clusterNode;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!clusterNode.isEnabled()) {
+            return;
+        }
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "cluster-events");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    /** Register a handler called with the event key (or {@link #ALL}) when another node publishes on the topic. */
+    public void subscribe(String topic, Consumer<String> handler) {
+        handlers.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    public void publish(String topic, String key) {
+        if (!clusterNode.isEnabled()) {
+            return;
+        }
+        String payload = clusterNode.getNodeId() + "|" + topic + "|" + (key == null ? ALL : key);
+        try {
+            jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, CHANNEL, payload);
+        } catch (RuntimeException e) {
+            // other nodes fall back to their cache TTLs
+            log.warn("Could not publish cluster event {}: {}", payload, e.getMessage());
+        }
+    }
+
+    /**
+     * Publish when the current transaction commits, once per topic and key however many times
+     * it is called in that transaction; immediately when there is no transaction.
+     */
+    public void publishAfterCommit(String topic, String key) {
+        if (!clusterNode.isEnabled()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(topic, key);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Set<String> pending = (Set<String>) TransactionSynchronizationManager.getResource(pendingKey);
+        if (pending == null) {
+            Set<String> payloads = new LinkedHashSet<>();
+            TransactionSynchronizationManager.bindResource(pendingKey, payloads);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    payloads.forEach(ClusterEventService.this::notifyOutsideTransaction);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(pendingKey);
+                }
+            });
+            pending = payloads;
+        }
+        pending.add(clusterNode.getNodeId() + "|" + topic + "|" + (key == null ? ALL : key));
+    }
+
+    // After commit the transaction's connection is still bound to the thread, and a NOTIFY sent on it
+    // would wait for a commit that never comes: use a connection of our own
+    private void notifyOutsideTransaction(String payload) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement st = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            st.setString(1, CHANNEL);
+            st.setString(2, payload);
+            st.execute();
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+        } catch (SQLException e) {
+            log.warn("Could not publish cluster event {}: {}", payload, e.getMessage());
+        }
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                PGConnection pg = connection.unwrap(PGConnection.class);
+                try (Statement st = connection.createStatement()) {
+                    st.execute("LISTEN " + CHANNEL);
+                }
+                log.info("Listening for cluster events as {}", clusterNode.getNodeId());
+                dispatchAll();
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(5000);
+                    if (notifications != null) {
+                        for (PGNotification n : notifications) {
+                            dispatch(n.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cluster event listener lost its connection: {}", e.getMessage());
+                try {
+                    Thread.sleep(5000);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        String[] parts = payload.split("\\|", 3);
+        if (parts.length != 3 || parts[0].equals(clusterNode.getNodeId())) {
+            return;
+        }
+        for (Consumer<String> handler : handlers.getOrDefault(parts[1], List.of())) {
+            try {
+                handler.accept(parts[2]);
+            } catch (RuntimeException e) {
+                log.warn("Cluster event handler for {} failed: {}", parts[1], e.getMessage());
+            }
+        }
+    }
+
+    // Events may have been missed while disconnected: drop everything
+    private void dispatchAll() {
+        handlers.values().forEach(list -> list.forEach(h -> {
+            try {
+                h.accept(ALL);
+            } catch (RuntimeException e) {
+                log.warn("Cluster event handler failed: {}", e.getMessage());
+            }
+        }));
+    }
+}
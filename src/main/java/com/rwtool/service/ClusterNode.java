@@ -0,0 +1,34 @@
+package com.rwtool.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * Identity of this instance and whether multi-node coordination is switched on
+ * (app.cluster.enabled). With it off, claims always succeed and no events are broadcast.
+ */
+@Component
+public class ClusterNode {
+
+    private final String nodeId;
+    private final boolean enabled;
+
+    public ClusterNode(@Value("${app.cluster.node-id:}") String nodeId,
+                       @Value("${app.cluster.enabled:false}") boolean enabled) {
+        // RuntimeMXBean name is "pid@hostname"
+        this.nodeId = nodeId == null || nodeId.isBlank()
+                ? ManagementFactory.getRuntimeMXBean().getName()
+                : nodeId;
+        this.enabled = enabled;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
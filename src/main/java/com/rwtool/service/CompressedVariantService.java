@@ -0,0 +1,262 @@
+package com.rwtool.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Precompressed copies of text reports (CSV and similar) for download content negotiation.
+ * A report baseDir/reports/&lt;folder&gt;/&lt;file&gt; may have variants
+ * &lt;compressed-dir&gt;/&lt;folder&gt;/&lt;file&gt;.br and .gz. They live outside reports/ so
+ * folder listings, previews and search never see them. A .gz variant is stamped with the
+ * report's modification time and used only while the two match; a .br variant is used while it
+ * is at least as new as the report. The .gz variant is written in the background when routing
+ * publishes a report, or after the first download that had to compress on the fly. A .br
+ * variant is served when one exists (e.g. produced by the brotli CLI); the JDK has no
+ * Brotli encoder, so it is not generated here.
+ */
+@Service
+public class CompressedVariantService {
+
+    public static final String GZIP = "gzip";
+    public static final String BROTLI = "br";
+
+    /** A stored variant and its Content-Encoding. */
+    public record Variant(Path file, String encoding) {}
+
+    private static final Logger log = LoggerFactory.getLogger(CompressedVariantService.class);
+
+    private final DirectoryWatchService directoryWatchService;
+
+    @Value("${app.storage.local.baseDir:}")
+    private String localBaseDir;
+
+    @Value("${app.compression.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.compression.dir:}")
+    private String compressedDirSetting;
+
+    @Value("${app.compression.extensions:csv,tsv,txt,json,xml,log}")
+    private String extensions;
+
+    @Value("${app.compression.min-bytes:2048}")
+    private long minBytes;
+
+    // Precompressed variants are written once, so spend CPU on ratio; on-the-fly favours speed
+    @Value("${app.compression.gzip-level:9}")
+    private int gzipLevel;
+
+    @Value("${app.compression.stream-level:1}")
+    private int streamLevel;
+
+    private Set<String> compressible = Set.of();
+    private Path reportsDir;
+    private Path compressedDir;
+    private final Set<Path> pending = ConcurrentHashMap.newKeySet();
+    private ExecutorService executor;
+
+    public CompressedVariantService(DirectoryWatchService directoryWatchService) {
+        this.directoryWatchService = directoryWatchService;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled || localBaseDir == null || localBaseDir.isBlank()) {
+            enabled = false;
+            return;
+        }
+        compressible = Arrays.stream(extensions.split(","))
+                .map(ext -> ext.trim().toLowerCase(Locale.ROOT))
+                .filter(ext -> !ext.isEmpty())
+                .collect(Collectors.toSet());
+        reportsDir = Paths.get(localBaseDir).resolve("reports").normalize();
+        compressedDir = compressedDirSetting == null || compressedDirSetting.isBlank()
+                ? Paths.get(localBaseDir).resolve(".compressed")
+                : Paths.get(compressedDirSetting);
+        executor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "report-compress");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+        directoryWatchService.onRouted(this::scheduleGzip);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /** True for text reports worth compressing (by extension and size). */
+    public boolean isCompressible(Path report, long size) {
+        if (!enabled || size < minBytes) {
+            return false;
+        }
+        String name = report.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot >= 0 && compressible.contains(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    /** Best stored variant the client accepts (br before gzip), if one is up to date. */
+    public Optional<Variant> select(Path report, String acceptEncoding) throws IOException {
+        if (!enabled || !report.startsWith(reportsDir)) {
+            return Optional.empty();
+        }
+        FileTime reportModified = Files.getLastModifiedTime(report);
+        for (String encoding : new String[]{BROTLI, GZIP}) {
+            if (!accepts(acceptEncoding, encoding)) {
+                continue;
+            }
+            Path variant = variantPath(report, encoding);
+            try {
+                if (isFresh(variant, encoding, reportModified)) {
+                    return Optional.of(new Variant(variant, encoding));
+                }
+            } catch (IOException e) {
+                // no variant for this encoding
+            }
+        }
+        return Optional.empty();
+    }
+
+    /** Gzip stream for on-the-fly compression (fast level; the stored variant is built separately). */
+    public StreamingGzip gzipStream(OutputStream out) throws IOException {
+        return new StreamingGzip(out, streamLevel);
+    }
+
+    /** Queue writing the .gz variant of a report if it is compressible and not already queued. */
+    public void scheduleGzip(Path report) {
+        if (!enabled || !report.startsWith(reportsDir) || !pending.add(report)) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                if (Files.isRegularFile(report) && isCompressible(report, Files.size(report))) {
+                    writeGzip(report);
+                }
+            } catch (IOException e) {
+                log.info("Could not precompress {}: {}", report, e.getMessage());
+            } finally {
+                pending.remove(report);
+            }
+        });
+    }
+
+    /**
+     * Parses Accept-Encoding per RFC 9110: an encoding is accepted when listed (or matched by "*")
+     * with q &gt; 0.
+     */
+    public static boolean accepts(String acceptEncoding, String encoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+        Double explicit = null;
+        Double wildcard = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim().toLowerCase(Locale.ROOT);
+            double q = 1.0;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        q = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            if (coding.equals(encoding) || (encoding.equals(GZIP) && coding.equals("x-gzip"))) {
+                explicit = q;
+            } else if (coding.equals("*")) {
+                wildcard = q;
+            }
+        }
+        double q = explicit != null ? explicit : wildcard != null ? wildcard : 0;
+        return q > 0;
+    }
+
+    private void writeGzip(Path report) throws IOException {
+        Path target = variantPath(report, GZIP);
+        FileTime reportModified = Files.getLastModifiedTime(report);
+        try {
+            if (isFresh(target, GZIP, reportModified)) {
+                return;
+            }
+        } catch (IOException e) {
+            // not written yet
+        }
+        Files.createDirectories(target.getParent());
+        Path tmp = target.resolveSibling(target.getFileName() + ".part");
+        long started = System.nanoTime();
+        try (InputStream in = Files.newInputStream(report);
+             OutputStream out = new GZIPOutputStream(Files.newOutputStream(tmp), 64 * 1024) {
+                 {
+                     def.setLevel(gzipLevel);
+                 }
+             }) {
+            in.transferTo(out);
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // If the report was replaced while we compressed, the stamps differ and the variant is not served
+        Files.setLastModifiedTime(target, reportModified);
+        log.debug("Precompressed {} ({} -> {} bytes, {} ms)", report.getFileName(), Files.size(report),
+                Files.size(target), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /** GZIPOutputStream that reports how many bytes it has produced. */
+    public static final class StreamingGzip extends GZIPOutputStream {
+
+        // 10-byte header and 8-byte trailer around the deflate data
+        private static final int FRAMING_BYTES = 18;
+
+        StreamingGzip(OutputStream out, int level) throws IOException {
+            super(out, 64 * 1024);
+            def.setLevel(level);
+        }
+
+        public long bytesWritten() {
+            return def.getBytesWritten() + FRAMING_BYTES;
+        }
+    }
+
+    private static boolean isFresh(Path variant, String encoding, FileTime reportModified) throws IOException {
+        FileTime variantModified = Files.getLastModifiedTime(variant);
+        return encoding.equals(GZIP)
+                ? variantModified.equals(reportModified)
+                : variantModified.compareTo(reportModified) >= 0;
+    }
+
+    private Path variantPath(Path report, String encoding) {
+        Path relative = reportsDir.relativize(report);
+        String suffix = encoding.equals(GZIP) ? ".gz" : ".br";
+        return compressedDir.resolve(relative).resolveSibling(relative.getFileName() + suffix);
+    }
+}
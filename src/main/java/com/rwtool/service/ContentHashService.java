@@ -0,0 +1,201 @@
+package com.rwtool.service;
+
+import com.rwtool.model.ContentHash;
+import com.rwtool.repository.ContentHashRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongConsumer;
+
+/**
+ * Content-hash deduplication for import and routing.
+ * Hashes are computed while streaming (no second pass when copying) and indexed per
+ * destination folder in content_hashes. With app.dedup.enabled=true a file whose bytes
+ * already exist in the destination is either skipped or, with app.dedup.mode=LINK,
+ * hard-linked to the existing copy instead of being written again.
+ * Rows follow their file: routing records the routed file under its report folder and drops the
+ * incoming row, and a row whose file is no longer on disk is dropped when a lookup hits it
+ * instead of counting as a duplicate.
+ */
+@Service
+public class ContentHashService {
+
+    public static final String INCOMING_FOLDER = "incoming";
+
+    public enum Mode { SKIP, LINK }
+
+    /** What routing/import should do with a file: proceed normally, or treat it as a duplicate of {@code existing}. */
+    public record Decision(boolean duplicate, String sha256, ContentHash existing) {}
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ContentHashRepository contentHashRepository;
+
+    @Value("${app.dedup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.dedup.mode:SKIP}")
+    private Mode mode;
+
+    @Value("${app.storage.local.baseDir:}")
+    private String localBaseDir;
+
+    public ContentHashService(ContentHashRepository contentHashRepository) {
+        this.contentHashRepository = contentHashRepository;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public String hash(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            byte[] buf = new byte[BUFFER_SIZE];
+            while (in.read(buf) != -1) {
+                // digest is updated as the stream is read
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Copy source to tmp, computing the SHA-256 in the same pass; progress gets the bytes copied so far.
+     * The caller checks the hash and then renames tmp into place or deletes it.
+     */
+    public String copyWithHash(Path source, Path tmp, LongConsumer progress) throws IOException {
+        MessageDigest digest = newDigest();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(source), digest);
+             OutputStream out = Files.newOutputStream(tmp)) {
+            byte[] buf = new byte[BUFFER_SIZE];
+            long done = 0;
+            int n;
+            while ((n = in.read(buf)) != -1) {
+                out.write(buf, 0, n);
+                done += n;
+                progress.accept(done);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tmp);
+            throw e;
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Hash a file about to land in destFolder and check whether identical content is already there.
+     * Uses the hash recorded at import time when the file comes from incoming, so it is not re-read.
+     */
+    public Decision check(Path file, String sourceFolder, String destFolder) throws IOException {
+        String sha = recordedHash(sourceFolder, file.getFileName().toString(), Files.size(file)).orElse(null);
+        if (sha == null) {
+            sha = hash(file);
+        }
+        Optional<ContentHash> existing = firstOnDisk(contentHashRepository.findBySha256AndFolder(sha, destFolder));
+        return new Decision(existing.isPresent(), sha, existing.orElse(null));
+    }
+
+    /** Hash recorded for a file at import or routing time, if its size still matches. */
+    public Optional<String> recordedHash(String folder, String fileName, long size) {
+        return contentHashRepository.findByFolderAndFileName(folder, fileName)
+                .filter(row -> row.getSize() == size)
+                .map(ContentHash::getSha256);
+    }
+
+    /** For imports: is this content already somewhere (incoming or any report folder)? */
+    public Decision checkAnywhere(Path file) throws IOException {
+        return checkAnywhere(hash(file));
+    }
+
+    /** Same, for a hash computed while copying. */
+    public Decision checkAnywhere(String sha) {
+        Optional<ContentHash> existing = firstOnDisk(contentHashRepository.findBySha256(sha));
+        return new Decision(existing.isPresent(), sha, existing.orElse(null));
+    }
+
+    /** Path of the file a content-hash row describes. */
+    public Path resolve(ContentHash row) {
+        return Paths.get(localBaseDir).resolve(row.getFolder()).resolve(row.getFileName()).normalize();
+    }
+
+    /**
+     * Put a hard link to existingFile at target instead of writing the bytes again (same volume only).
+     * The link is made under baseDir/.staging and renamed over target, so a file already at target is
+     * replaced atomically. Returns false when the file system cannot link; the caller then copies or moves.
+     */
+    public boolean link(Path existingFile, Path target) {
+        Path staged = Paths.get(localBaseDir).resolve(DirectoryWatchService.STAGING)
+                .resolve(target.getFileName() + ".link");
+        try {
+            Files.createDirectories(staged.getParent());
+            Files.createDirectories(target.getParent());
+            Files.deleteIfExists(staged);
+            Files.createLink(staged, existingFile);
+            Files.move(staged, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException | UnsupportedOperationException e) {
+            try {
+                Files.deleteIfExists(staged);
+            } catch (IOException ignored) {
+                // left for the next link of the same name to replace
+            }
+            return false;
+        }
+    }
+
+    // Not transactional on purpose: a concurrent duplicate insert is swallowed without rolling anything back
+    public void record(String folder, String fileName, String sha256, long size) {
+        ContentHash row = contentHashRepository.findByFolderAndFileName(folder, fileName)
+                .orElseGet(() -> new ContentHash(folder, fileName, sha256, size));
+        row.setSha256(sha256);
+        row.setSize(size);
+        try {
+            contentHashRepository.save(row);
+        } catch (DataIntegrityViolationException e) {
+            // recorded concurrently for the same file
+        }
+    }
+
+    @Transactional
+    public void forget(String folder, String fileName) {
+        contentHashRepository.deleteByFolderAndFileName(folder, fileName);
+    }
+
+    // First row whose file still exists; rows for files deleted or moved outside the app are dropped
+    private Optional<ContentHash> firstOnDisk(List<ContentHash> rows) {
+        for (ContentHash row : rows) {
+            if (localBaseDir == null || localBaseDir.isBlank() || Files.exists(resolve(row))) {
+                return Optional.of(row);
+            }
+            contentHashRepository.delete(row);
+        }
+        return Optional.empty();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.rwtool.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams directory listings as a JSON array of {name,size,modified[,folder,preview]} objects.
+ * Entries are read lazily from a DirectoryStream and written straight to the response
+ * through a JsonGenerator, so memory use does not grow with the directory and the client
+ * receives the first entries before the scan finishes. Entries come in directory order.
+ * Without app.storage.local.baseDir there is no directory to scan: callers pass their
+ * service's list to {@link #streamList} instead, so the endpoint keeps one response type.
+ */
+@Service
+public class DirectoryListingService {
+
+    private static final int FLUSH_EVERY = 256;
+
+    private final ObjectMapper objectMapper;
+    private final ReportPreviewService reportPreviewService;
+
+    @Value("${app.storage.local.baseDir:}")
+    private String localBaseDir;
+
+    public DirectoryListingService(ObjectMapper objectMapper, ReportPreviewService reportPreviewService) {
+        this.objectMapper = objectMapper;
+        this.reportPreviewService = reportPreviewService;
+    }
+
+    /** Whether listings can be streamed from baseDir. */
+    public boolean isAvailable() {
+        return localBaseDir != null && !localBaseDir.isBlank();
+    }
+
+    /** baseDir/incoming or baseDir/storage. */
+    public StreamingResponseBody streamBaseDir(String name) {
+        return stream(Paths.get(localBaseDir).resolve(name), null);
+    }
+
+    /** baseDir/reports/&lt;folder&gt;; each entry also carries the folder name and, for PDFs, a thumbnail URL. */
+    public StreamingResponseBody streamReportFolder(String folder) {
+        Path reports = Paths.get(localBaseDir).resolve("reports").normalize();
+        Path dir = reports.resolve(folder).normalize();
+        if (!reports.equals(dir.getParent())) {
+            throw new IllegalArgumentException("Invalid folder: " + folder);
+        }
+        return stream(dir, folder);
+    }
+
+    /** An already built listing, written as the same JSON array. */
+    public StreamingResponseBody streamList(List<Map<String, Object>> files) {
+        return out -> {
+            try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+                gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                gen.writeObject(files);
+            }
+        };
+    }
+
+    private StreamingResponseBody stream(Path dir, String folder) {
+        return out -> {
+            try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+                gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                gen.writeStartArray();
+                if (Files.isDirectory(dir)) {
+                    try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+                        int written = 0;
+                        for (Path file : entries) {
+                            if (writeEntry(gen, file, folder) && ++written % FLUSH_EVERY == 0) {
+                                gen.flush();
+                            }
+                        }
+                    }
+                }
+                gen.writeEndArray();
+            }
+        };
+    }
+
+    private boolean writeEntry(JsonGenerator gen, Path file, String folder) throws IOException {
+        BasicFileAttributes attrs;
+        try {
+            attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        } catch (IOException e) {
+            // removed while we were listing
+            return false;
+        }
+        String name = file.getFileName().toString();
+        if (!attrs.isRegularFile() || name.endsWith(".part")) {
+            return false;
+        }
+        gen.writeStartObject();
+        gen.writeStringField("name", name);
+        gen.writeNumberField("size", attrs.size());
+        gen.writeNumberField("modified", attrs.lastModifiedTime().toMillis());
+        if (folder != null) {
+            gen.writeStringField("folder", folder);
+            String preview = reportPreviewService.previewUrl(folder, name);
+            if (preview != null) {
+                gen.writeStringField("preview", preview);
+            }
+        }
+        gen.writeEndObject();
+        return true;
+    }
+}
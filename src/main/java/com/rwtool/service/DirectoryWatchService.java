@@ -0,0 +1,327 @@
+package com.rwtool.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * One shared watcher over baseDir/incoming and baseDir/storage that keeps an in-memory
+ * listing of each directory and pushes incremental changes to Server-Sent Events clients.
+ * Events: "snapshot" (full list, sent on connect and after a watch overflow),
+ * "added" / "removed" ({name,size,modified} / {name}) and "routed" ({name,toPath}).
+ * The directory is scanned at startup, not once per open dashboard, and re-scanned every
+ * app.events.rescan-seconds: inotify does not see writes made by other hosts on an NFS/SMB
+ * share, so the periodic scan reconciles the listing and pushes what it finds as added/removed.
+ */
+@Service
+public class DirectoryWatchService {
+
+    public static final String INCOMING = "incoming";
+    public static final String STORAGE = "storage";
+    // Temp files of in-progress imports and downloads: same volume as incoming, but not watched or routed
+    public static final String STAGING = ".staging";
+
+    private static final Logger log = LoggerFactory.getLogger(DirectoryWatchService.class);
+
+    @Value("${app.storage.local.baseDir:}")
+    private String localBaseDir;
+
+    @Value("${app.events.sse-timeout-ms:0}")
+    private long sseTimeoutMs;
+
+    @Value("${app.events.heartbeat-seconds:20}")
+    private long heartbeatSeconds;
+
+    @Value("${app.events.rescan-seconds:60}")
+    private long rescanSeconds;
+
+    private final Map<String, Map<String, Map<String, Object>>> listings = new ConcurrentHashMap<>();
+    private final Map<String, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final Map<WatchKey, String> channelsByKey = new ConcurrentHashMap<>();
+    private final List<Consumer<Path>> routedListeners = new CopyOnWriteArrayList<>();
+
+    private WatchService watchService;
+    private Thread watchThread;
+    private ScheduledExecutorService heartbeat;
+
+    @PostConstruct
+    public void start() {
+        for (String channel : List.of(INCOMING, STORAGE)) {
+            listings.put(channel, new ConcurrentHashMap<>());
+            emitters.put(channel, new CopyOnWriteArrayList<>());
+        }
+        if (localBaseDir == null || localBaseDir.isBlank()) {
+            return;
+        }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            for (String channel : List.of(INCOMING, STORAGE)) {
+                Path dir = directory(channel);
+                Files.createDirectories(dir);
+                WatchKey key = dir.register(watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_DELETE,
+                        StandardWatchEventKinds.ENTRY_MODIFY);
+                channelsByKey.put(key, channel);
+                rescan(channel);
+            }
+        } catch (IOException e) {
+            log.warn("Directory watcher disabled: {}", e.getMessage());
+            return;
+        }
+        watchThread = new Thread(this::watchLoop, "directory-watch");
+        watchThread.setDaemon(true);
+        watchThread.start();
+
+        heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "sse-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+        heartbeat.scheduleAtFixedRate(this::sendHeartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        if (rescanSeconds > 0) {
+            heartbeat.scheduleWithFixedDelay(this::reconcileAll, rescanSeconds, rescanSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (heartbeat != null) {
+            heartbeat.shutdownNow();
+        }
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException ignored) {
+                // shutting down
+            }
+        }
+        emitters.values().forEach(list -> list.forEach(SseEmitter::complete));
+    }
+
+    public SseEmitter subscribe(String channel) {
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        List<SseEmitter> channelEmitters = emitters.get(channel);
+        channelEmitters.add(emitter);
+        emitter.onCompletion(() -> channelEmitters.remove(emitter));
+        emitter.onTimeout(() -> channelEmitters.remove(emitter));
+        emitter.onError(e -> channelEmitters.remove(emitter));
+        try {
+            emitter.send(SseEmitter.event().name("snapshot").data(snapshot(channel), MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            channelEmitters.remove(emitter);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    /** Current listing of a channel as {name,size,modified} maps, newest first. */
+    public List<Map<String, Object>> snapshot(String channel) {
+        List<Map<String, Object>> files = new ArrayList<>(listings.get(channel).values());
+        files.sort(Comparator.comparing((Map<String, Object> m) -> (Long) m.get("modified")).reversed());
+        return files;
+    }
+
+    /** Number of files currently listed in a channel. */
+    public int size(String channel) {
+        return listings.get(channel).size();
+    }
+
+    /**
+     * Register a callback run with the routed file's path (under baseDir/reports) after each
+     * {@link #publishRouted}. It runs on the routing thread, so it should only queue work.
+     */
+    public void onRouted(Consumer<Path> listener) {
+        routedListeners.add(listener);
+    }
+
+    /** Called by routing once a file has left incoming for its report folder. */
+    public void publishRouted(String fileName, String toPath) {
+        listings.get(INCOMING).remove(fileName);
+        Map<String, Object> data = new HashMap<>();
+        data.put("name", fileName);
+        data.put("toPath", toPath);
+        broadcast(INCOMING, "routed", data);
+        notifyRouted(fileName, toPath);
+    }
+
+    private void notifyRouted(String fileName, String toPath) {
+        if (routedListeners.isEmpty() || toPath == null || localBaseDir == null || localBaseDir.isBlank()) {
+            return;
+        }
+        // toPath is the destination folder or file, absolute or relative to baseDir
+        Path target = Paths.get(localBaseDir).resolve(toPath).normalize();
+        if (Files.isDirectory(target)) {
+            target = target.resolve(fileName);
+        }
+        for (Consumer<Path> listener : routedListeners) {
+            try {
+                listener.accept(target);
+            } catch (RuntimeException e) {
+                log.warn("Routed listener failed for {}: {}", target, e.getMessage());
+            }
+        }
+    }
+
+    private void watchLoop() {
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+            String channel = channelsByKey.get(key);
+            if (channel != null) {
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    handle(channel, event);
+                }
+            }
+            if (!key.reset()) {
+                channelsByKey.remove(key);
+            }
+        }
+    }
+
+    private void handle(String channel, WatchEvent<?> event) {
+        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+            rescan(channel);
+            broadcast(channel, "snapshot", snapshot(channel));
+            return;
+        }
+        String name = event.context().toString();
+        Path file = directory(channel).resolve(name);
+        if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+            if (listings.get(channel).remove(name) != null) {
+                broadcast(channel, "removed", Map.of("name", name));
+            }
+            return;
+        }
+        Map<String, Object> entry = describe(file);
+        if (entry != null) {
+            listings.get(channel).put(name, entry);
+            broadcast(channel, "added", entry);
+        }
+    }
+
+    private void rescan(String channel) {
+        Map<String, Map<String, Object>> listing = listings.get(channel);
+        listing.clear();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory(channel))) {
+            for (Path file : stream) {
+                Map<String, Object> entry = describe(file);
+                if (entry != null) {
+                    listing.put(file.getFileName().toString(), entry);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not scan {}: {}", channel, e.getMessage());
+        }
+    }
+
+    private void reconcileAll() {
+        for (String channel : List.of(INCOMING, STORAGE)) {
+            reconcile(channel);
+        }
+    }
+
+    // Diff a fresh scan against the listing and broadcast only the differences
+    private void reconcile(String channel) {
+        Map<String, Map<String, Object>> scanned = new HashMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory(channel))) {
+            for (Path file : stream) {
+                Map<String, Object> entry = describe(file);
+                if (entry != null) {
+                    scanned.put(file.getFileName().toString(), entry);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Could not rescan {}: {}", channel, e.getMessage());
+            return;
+        }
+        Map<String, Map<String, Object>> listing = listings.get(channel);
+        for (String name : new ArrayList<>(listing.keySet())) {
+            if (!scanned.containsKey(name) && listing.remove(name) != null) {
+                broadcast(channel, "removed", Map.of("name", name));
+            }
+        }
+        scanned.forEach((name, entry) -> {
+            if (!entry.equals(listing.get(name))) {
+                listing.put(name, entry);
+                broadcast(channel, "added", entry);
+            }
+        });
+    }
+
+    private Map<String, Object> describe(Path file) {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            if (!attrs.isRegularFile()) {
+                return null;
+            }
+            Map<String, Object> m = new HashMap<>();
+            m.put("name", file.getFileName().toString());
+            m.put("size", attrs.size());
+            m.put("modified", attrs.lastModifiedTime().toMillis());
+            return m;
+        } catch (IOException e) {
+            // removed again before we could stat it
+            return null;
+        }
+    }
+
+    private void broadcast(String channel, String eventName, Object data) {
+        for (SseEmitter emitter : emitters.get(channel)) {
+            try {
+                emitter.send(SseEmitter.event().name(eventName).data(data, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                emitters.get(channel).remove(emitter);
+            }
+        }
+    }
+
+    private void sendHeartbeat() {
+        emitters.forEach((channel, list) -> {
+            for (SseEmitter emitter : list) {
+                try {
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                } catch (IOException | IllegalStateException e) {
+                    list.remove(emitter);
+                }
+            }
+        });
+    }
+
+    private Path directory(String channel) {
+        return Paths.get(localBaseDir).resolve(channel);
+    }
+}
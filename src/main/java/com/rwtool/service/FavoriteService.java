@@ -0,0 +1,122 @@
+package com.rwtool.service;
+
+import com.rwtool.dto.FavoriteItem;
+import com.rwtool.model.Favorite;
+import com.rwtool.repository.FavoriteRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * User favorites persisted in the favorites table, fronted by a per-user cache.
+ * A user's list is loaded on first access and kept up to date on add/remove (write-through).
+ * Other nodes are told to drop their cached copy through {@link ClusterEventService};
+ * entries also expire after a TTL in case such an event is missed.
+ */
+@Service
+public class FavoriteService {
+
+    private final FavoriteRepository favoriteRepository;
+    private final ClusterEventService clusterEventService;
+    private final Counter hits;
+    private final Counter misses;
+
+    @Value("${app.favorites.cache.max-users:5000}")
+    private int maxUsers;
+
+    @Value("${app.favorites.cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private final Map<String, CachedFavorites> cache = new ConcurrentHashMap<>();
+
+    public FavoriteService(FavoriteRepository favoriteRepository, ClusterEventService clusterEventService,
+                           MeterRegistry meterRegistry) {
+        this.favoriteRepository = favoriteRepository;
+        this.clusterEventService = clusterEventService;
+        this.hits = meterRegistry.counter("rwtool.cache.requests", "cache", "favorites", "result", "hit");
+        this.misses = meterRegistry.counter("rwtool.cache.requests", "cache", "favorites", "result", "miss");
+    }
+
+    @PostConstruct
+    public void subscribeToClusterEvents() {
+        clusterEventService.subscribe(ClusterEventService.TOPIC_FAVORITES, key -> {
+            if (ClusterEventService.ALL.equals(key)) {
+                cache.clear();
+            } else {
+                cache.remove(key);
+            }
+        });
+    }
+
+    public List<FavoriteItem> list(String userId) {
+        CachedFavorites cached = cache.get(userId);
+        if (cached != null && Instant.now().isBefore(cached.expiresAt)) {
+            hits.increment();
+            return cached.items;
+        }
+        misses.increment();
+        List<FavoriteItem> items = favoriteRepository.findByUserIdOrderByCreatedAtDesc(userId).stream()
+                .map(f -> new FavoriteItem(f.getFolder(), f.getFileName()))
+                .toList();
+        if (cache.size() >= maxUsers) {
+            Instant now = Instant.now();
+            cache.values().removeIf(c -> !now.isBefore(c.expiresAt));
+            if (cache.size() >= maxUsers) {
+                cache.clear();
+            }
+        }
+        cache.put(userId, new CachedFavorites(items, Instant.now().plusSeconds(ttlSeconds)));
+        return items;
+    }
+
+    // Not transactional on purpose: save() runs in its own transaction so a duplicate insert can be swallowed
+    public void add(String userId, String folder, String fileName) {
+        if (!favoriteRepository.existsByUserIdAndFolderAndFileName(userId, folder, fileName)) {
+            try {
+                favoriteRepository.save(new Favorite(userId, folder, fileName));
+            } catch (DataIntegrityViolationException e) {
+                // added concurrently by another request; the unique constraint keeps a single row
+            }
+        }
+        FavoriteItem item = new FavoriteItem(folder, fileName);
+        cache.computeIfPresent(userId, (k, c) -> {
+            if (c.items.contains(item)) {
+                return c;
+            }
+            List<FavoriteItem> items = new ArrayList<>(c.items.size() + 1);
+            items.add(item);
+            items.addAll(c.items);
+            return new CachedFavorites(Collections.unmodifiableList(items), c.expiresAt);
+        });
+        clusterEventService.publish(ClusterEventService.TOPIC_FAVORITES, userId);
+    }
+
+    @Transactional
+    public void remove(String userId, String folder, String fileName) {
+        favoriteRepository.deleteFavorite(userId, folder, fileName);
+        FavoriteItem item = new FavoriteItem(folder, fileName);
+        cache.computeIfPresent(userId, (k, c) -> {
+            List<FavoriteItem> items = new ArrayList<>(c.items);
+            items.remove(item);
+            return new CachedFavorites(Collections.unmodifiableList(items), c.expiresAt);
+        });
+        clusterEventService.publish(ClusterEventService.TOPIC_FAVORITES, userId);
+    }
+
+    public void evict(String userId) {
+        cache.remove(userId);
+    }
+
+    private record CachedFavorites(List<FavoriteItem> items, Instant expiresAt) {}
+}
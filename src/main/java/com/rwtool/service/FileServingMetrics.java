@@ -0,0 +1,152 @@
+package com.rwtool.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.util.function.LongConsumer;
+
+/**
+ * File serving meters: rwtool.files.served.bytes{endpoint} (bytes written for each file served;
+ * its total is the byte count) and rwtool.files.zip.build / rwtool.files.zip.bytes for batch downloads.
+ * Resource bodies are written after the controller returns, so they are wrapped with
+ * {@link #metered} and recorded once the body has been copied, with what was actually sent
+ * (less than the file for an aborted download or a range request).
+ */
+@Service
+public class FileServingMetrics {
+
+    private final MeterRegistry registry;
+
+    public FileServingMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void recordServed(String endpoint, long bytes) {
+        if (bytes < 0) {
+            return;
+        }
+        DistributionSummary.builder("rwtool.files.served.bytes")
+                .description("Bytes served per file download or preview")
+                .baseUnit("bytes")
+                .tag("endpoint", endpoint)
+                .register(registry)
+                .record(bytes);
+    }
+
+    /** The resource, recording the bytes read from it for the response when its stream is closed. */
+    public Resource metered(String endpoint, Resource resource) {
+        return new MeteredResource(resource, bytes -> recordServed(endpoint, bytes));
+    }
+
+    public Timer.Sample startZip() {
+        return Timer.start(registry);
+    }
+
+    public void recordZip(Timer.Sample sample, long bytes) {
+        sample.stop(Timer.builder("rwtool.files.zip.build")
+                .description("Time to assemble a batch download ZIP")
+                .publishPercentileHistogram()
+                .register(registry));
+        DistributionSummary.builder("rwtool.files.zip.bytes")
+                .baseUnit("bytes")
+                .register(registry)
+                .record(bytes);
+    }
+    // Delegates everything but the stream, so Content-Length, filename and range handling are unchanged
+    private static final class MeteredResource extends AbstractResource {
+        private final Resource delegate;
+        private final LongConsumer onClose;
+
+        MeteredResource(Resource delegate, LongConsumer onClose) {
+            this.delegate = delegate;
+            this.onClose = onClose;
+        }
+
+        @Override
+        public boolean exists() {
+            return delegate.exists();
+        }
+
+        @Override
+        public boolean isReadable() {
+            return delegate.isReadable();
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return delegate.contentLength();
+        }
+
+        @Override
+        public long lastModified() throws IOException {
+            return delegate.lastModified();
+        }
+
+        @Override
+        public URL getURL() throws IOException {
+            return delegate.getURL();
+        }
+
+        @Override
+        public URI getURI() throws IOException {
+            return delegate.getURI();
+        }
+
+        @Override
+        public String getFilename() {
+            return delegate.getFilename();
+        }
+
+        @Override
+        public String getDescription() {
+            return delegate.getDescription();
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(delegate.getInputStream()) {
+                private long count;
+                private boolean closed;
+
+                @Override
+                public int read() throws IOException {
+                    int b = super.read();
+                    if (b >= 0) {
+                        count++;
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int n = super.read(b, off, len);
+                    if (n > 0) {
+                        count += n;
+                    }
+                    return n;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        if (!closed) {
+                            closed = true;
+                            onClose.accept(count);
+                        }
+                    }
+                }
+            };
+        }
+    }
+}
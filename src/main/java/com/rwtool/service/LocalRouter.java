@@ -0,0 +1,173 @@
+package com.rwtool.service;
+
+import com.rwtool.model.RoutingLog;
+import com.rwtool.repository.RoutingLogRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Routes one file from baseDir/incoming to its report folder in local mode.
+ * The destination comes from RoutingService's dry-run decision, so preview and routing agree
+ * on the prefix mapping; the move, its RoutingLog row, the content-hash bookkeeping and the "routed" event (SSE clients,
+ * thumbnails, search indexing, precompression) happen here. With app.dedup.enabled a file whose content is already
+ * in its report folder is dropped from incoming and logged as SKIPPED, or with app.dedup.mode=LINK routed as a hard
+ * link to the existing copy. The move and its log row are
+ * bracketed by a {@link RoutingJournal} intent so a crash in between is reconciled at startup,
+ * and each row carries the current run id and per-stage timings from {@link RoutingTrace}.
+ * In live and dry-run mode it delegates to RoutingService.routeSingle.
+ * Result keys match RoutingService: moved, destination, reason.
+ */
+@Service
+public class LocalRouter {
+
+    private final RoutingService routingService;
+    private final RoutingLogRepository routingLogRepository;
+    private final DirectoryWatchService directoryWatchService;
+    private final RoutingJournal routingJournal;
+    private final RoutingTraceService routingTraceService;
+    private final ContentHashService contentHashService;
+
+    @Value("${app.routing.mode:dry-run}")
+    private String routingMode;
+
+    @Value("${app.storage.local.baseDir:}")
+    private String localBaseDir;
+
+    public LocalRouter(RoutingService routingService, RoutingLogRepository routingLogRepository,
+                       DirectoryWatchService directoryWatchService, RoutingJournal routingJournal,
+                       RoutingTraceService routingTraceService, ContentHashService contentHashService) {
+        this.routingService = routingService;
+        this.routingLogRepository = routingLogRepository;
+        this.directoryWatchService = directoryWatchService;
+        this.routingJournal = routingJournal;
+        this.routingTraceService = routingTraceService;
+        this.contentHashService = contentHashService;
+    }
+
+    public boolean isLocal() {
+        return "local".equalsIgnoreCase(routingMode) && localBaseDir != null && !localBaseDir.isBlank();
+    }
+
+    public Map<String, Object> route(String fileName) {
+        return route(fileName, null);
+    }
+
+    /**
+     * Route with the decision already made, e.g. by one dryRunDecisions call for a whole batch
+     * (its DECIDE stage then only covers the lookup); null makes the decision for this file alone.
+     */
+    public Map<String, Object> route(String fileName, RoutingService.DryRunDecision decision) {
+        if (!isLocal()) {
+            return routingService.routeSingle(fileName);
+        }
+        if (fileName == null || fileName.trim().isEmpty()) {
+            throw new IllegalArgumentException("fileName is required");
+        }
+        String name = fileName.trim();
+        RoutingTrace trace = routingTraceService.startFile();
+        Map<String, Object> result = new HashMap<>();
+        Path incoming = Paths.get(localBaseDir).resolve(DirectoryWatchService.INCOMING);
+        Path source = incoming.resolve(name).normalize();
+        if (!incoming.normalize().equals(source.getParent())) {
+            throw new IllegalArgumentException("Invalid file name: " + fileName);
+        }
+        if (!Files.exists(source)) {
+            result.put("moved", false);
+            result.put("reason", "file not found in incoming");
+            return result;
+        }
+        trace.mark(RoutingTrace.Stage.DISCOVER);
+
+        if (decision == null) {
+            decision = routingService.dryRunDecisions(List.of(name)).get(0);
+        }
+        trace.mark(RoutingTrace.Stage.DECIDE);
+        if (!decision.isMatched()) {
+            persistLog(name, "SKIPPED", incoming.toString(), "", decision.getReason(), trace);
+            result.put("moved", false);
+            result.put("reason", decision.getReason());
+            return result;
+        }
+
+        Path target = Paths.get(localBaseDir).resolve(decision.getDestinationPath()).normalize();
+        String destFolder = decision.getOutputPath();
+        ContentHashService.Decision content = null;
+        long size = 0;
+        long intent = -1;
+        Path linkedTo = null;
+        try {
+            if (contentHashService.isEnabled()) {
+                size = Files.size(source);
+                content = contentHashService.check(source, ContentHashService.INCOMING_FOLDER, destFolder);
+                if (content.duplicate()) {
+                    Path existing = contentHashService.resolve(content.existing());
+                    if (contentHashService.getMode() == ContentHashService.Mode.SKIP || existing.equals(target)) {
+                        return skipDuplicate(name, source, incoming, existing, trace);
+                    }
+                    linkedTo = existing;
+                }
+            }
+            Files.createDirectories(target.getParent());
+            trace.mark(RoutingTrace.Stage.MKDIR);
+            intent = routingJournal.begin(name, source.toString(), target.toString());
+            if (linkedTo != null && contentHashService.link(linkedTo, target)) {
+                Files.delete(source);
+            } else {
+                linkedTo = null;
+                Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            trace.mark(RoutingTrace.Stage.MOVE);
+        } catch (IOException e) {
+            persistLog(name, "ERROR", incoming.toString(), target.getParent().toString(), e.getMessage(), trace);
+            if (intent >= 0) {
+                routingJournal.commit(intent);
+            }
+            result.put("moved", false);
+            result.put("reason", e.getMessage());
+            return result;
+        }
+        // Committed only once the row is saved: if the insert fails, recovery writes it at startup
+        persistLog(name, "MOVED", incoming.toString(), target.toString(),
+                linkedTo == null ? null : "hard link to duplicate " + linkedTo, trace);
+        routingJournal.commit(intent);
+        if (content != null) {
+            contentHashService.record(destFolder, name, content.sha256(), size);
+            contentHashService.forget(ContentHashService.INCOMING_FOLDER, name);
+        }
+        directoryWatchService.publishRouted(name, target.toString());
+        result.put("moved", true);
+        result.put("destination", target.toString());
+        return result;
+    }
+
+    // The content is already in the report folder: drop the incoming copy instead of writing it again
+    private Map<String, Object> skipDuplicate(String name, Path source, Path incoming, Path existing,
+                                              RoutingTrace trace) throws IOException {
+        Files.delete(source);
+        contentHashService.forget(ContentHashService.INCOMING_FOLDER, name);
+        String reason = "duplicate of " + existing;
+        persistLog(name, "SKIPPED", incoming.toString(), existing.toString(), reason, trace);
+        Map<String, Object> result = new HashMap<>();
+        result.put("moved", false);
+        result.put("duplicate", true);
+        result.put("reason", reason);
+        return result;
+    }
+
+    private void persistLog(String fileName, String action, String fromPath, String toPath, String message,
+                            RoutingTrace trace) {
+        RoutingLog row = new RoutingLog(null, fileName, action, fromPath, toPath, message, Instant.now());
+        trace.applyTo(row);
+        routingTraceService.persisted(routingLogRepository.save(row), trace);
+    }
+}
@@ -0,0 +1,215 @@
+package com.rwtool.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Substring search over path configs (prefix, sourcePath, outputPath).
+ * On Postgres with the GIN trigram indexes on lower(column) from migration V6, the
+ * "lower(x) like '%term%'" query is answered from the index instead of a sequential scan.
+ * Where those indexes are missing (other databases, schemas not managed by Flyway, or
+ * app.paths.search.mode=memory) an in-memory trigram index is
+ * kept instead: candidates are the intersection of the term's trigram postings and are then
+ * checked with contains(). The index is rebuilt lazily after a committed change here or a
+ * pathConfig event from another node.
+ */
+@Service
+public class PathConfigSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(PathConfigSearchIndex.class);
+
+    private static final List<String> TRIGRAM_INDEXES = List.of(
+            "idx_path_configs_prefix_trgm", "idx_path_configs_source_trgm", "idx_path_configs_output_trgm");
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ClusterEventService clusterEventService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.paths.search.mode:auto}")
+    private String mode; // auto | database | memory
+
+    private volatile boolean databaseIndexed;
+    private final AtomicLong version = new AtomicLong();
+    // Not synchronized: a virtual thread blocked on JDBC inside a monitor would pin its carrier
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+    private volatile Snapshot snapshot = new Snapshot(-1, List.of(), Map.of(), Map.of());
+
+    public PathConfigSearchIndex(DataSource dataSource, JdbcTemplate jdbcTemplate, ClusterEventService clusterEventService) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.clusterEventService = clusterEventService;
+    }
+
+    @PostConstruct
+    public void init() {
+        clusterEventService.subscribe(ClusterEventService.TOPIC_PATH_CONFIG, key -> invalidate());
+        if ("memory".equalsIgnoreCase(mode)) {
+            return;
+        }
+        if ("database".equalsIgnoreCase(mode)) {
+            databaseIndexed = true;
+            return;
+        }
+        if (!isPostgres()) {
+            log.info("Path config search uses the in-memory trigram index");
+            return;
+        }
+        // The indexes are created by migration V6; the app does not run DDL itself
+        try {
+            Integer present = jdbcTemplate.queryForObject(
+                    "select count(*) from pg_indexes where tablename = 'path_configs' and indexname in (?, ?, ?)",
+                    Integer.class, TRIGRAM_INDEXES.toArray());
+            databaseIndexed = present != null && present == TRIGRAM_INDEXES.size();
+        } catch (RuntimeException e) {
+            log.warn("Could not check for pg_trgm indexes on path_configs: {}", e.getMessage());
+        }
+        if (!databaseIndexed) {
+            log.info("pg_trgm indexes on path_configs not found (migration V6); path config search uses the in-memory index");
+        }
+    }
+
+    /** True when search should go to the database (trigram-indexed LIKE). */
+    public boolean isDatabaseIndexed() {
+        return databaseIndexed;
+    }
+
+    /** Ids of path configs whose prefix, source or output path contains term (case-insensitive), in id order. */
+    public List<Long> search(String term) {
+        Snapshot current = current();
+        String needle = term.toLowerCase();
+        List<Long> candidates;
+        if (needle.length() < 3) {
+            candidates = current.ids;
+        } else {
+            Set<Long> hits = null;
+            for (String gram : trigrams(needle)) {
+                Set<Long> posting = current.postings.get(gram);
+                if (posting == null) {
+                    return List.of();
+                }
+                if (hits == null) {
+                    hits = new HashSet<>(posting);
+                } else {
+                    hits.retainAll(posting);
+                }
+            }
+            candidates = new ArrayList<>();
+            for (Long id : current.ids) {
+                if (hits.contains(id)) {
+                    candidates.add(id);
+                }
+            }
+        }
+        List<Long> result = new ArrayList<>();
+        for (Long id : candidates) {
+            if (current.text.get(id).contains(needle)) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    /** Mark the index stale once the current transaction (if any) commits. */
+    public void invalidateAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate();
+                }
+            });
+        } else {
+            invalidate();
+        }
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        long wanted = version.get();
+        if (current.version == wanted) {
+            return current;
+        }
+        rebuildLock.lock();
+        try {
+            if (snapshot.version == version.get()) {
+                return snapshot;
+            }
+            // Read the version before loading: a change committed meanwhile triggers another rebuild
+            long building = version.get();
+            snapshot = build(building);
+            return snapshot;
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+
+    private Snapshot build(long buildVersion) {
+        List<Object[]> rows = entityManager.createQuery(
+                "select p.id, p.prefix, p.sourcePath, p.outputPath from PathConfig p order by p.id", Object[].class)
+                .getResultList();
+        List<Long> ids = new ArrayList<>(rows.size());
+        Map<Long, String> text = new HashMap<>();
+        Map<String, Set<Long>> postings = new HashMap<>();
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            ids.add(id);
+            // Separator keeps a match from spanning two columns
+            String joined = (lower(row[1]) + "\u0000" + lower(row[2]) + "\u0000" + lower(row[3]));
+            text.put(id, joined);
+            for (String gram : trigrams(joined)) {
+                postings.computeIfAbsent(gram, g -> new HashSet<>()).add(id);
+            }
+        }
+        return new Snapshot(buildVersion, ids, text, postings);
+    }
+
+    private static Set<String> trigrams(String s) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= s.length(); i++) {
+            grams.add(s.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private static String lower(Object value) {
+        return value == null ? "" : value.toString().toLowerCase();
+    }
+
+    private boolean isPostgres() {
+        try (Connection connection = dataSource.getConnection()) {
+            return "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private record Snapshot(long version, List<Long> ids, Map<Long, String> text, Map<String, Set<Long>> postings) {
+    }
+}
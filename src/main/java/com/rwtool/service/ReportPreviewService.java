@@ -0,0 +1,368 @@
+package com.rwtool.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * First-page PNG thumbnails for PDF reports, so the report list can show what a file is
+ * without the browser downloading the whole PDF.
+ * Thumbnails are rendered with PDFBox on a small pool when routing publishes a file into
+ * reports/, or on first request otherwise. They are stored in app.preview.cache-dir as
+ * &lt;sha256&gt;.png: identical reports in different folders share one thumbnail and a
+ * re-published file with new content gets a new one. The cache is bounded by
+ * app.preview.cache-max-mb and evicts least recently served thumbnails first; file
+ * modification times carry the recency across restarts. The cache defaults to node-local disk
+ * (~/.rwtool/previews) rather than the shared baseDir: each node's LRU index assumes it is the
+ * only one adding and evicting files in the directory.
+ */
+@Service
+public class ReportPreviewService {
+
+    /** A cached thumbnail and the content hash it was rendered from (usable as an ETag). */
+    public record Thumbnail(Path file, String sha256) {}
+
+    private static final Logger log = LoggerFactory.getLogger(ReportPreviewService.class);
+
+    private static final int MAX_REMEMBERED = 50_000;
+
+    private final ContentHashService contentHashService;
+    private final DirectoryWatchService directoryWatchService;
+
+    @Value("${app.storage.local.baseDir:}")
+    private String localBaseDir;
+
+    @Value("${app.preview.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.preview.cache-dir:}")
+    private String cacheDirSetting;
+
+    @Value("${app.preview.cache-max-mb:256}")
+    private long cacheMaxMb;
+
+    @Value("${app.preview.width:320}")
+    private int width;
+
+    @Value("${app.preview.threads:2}")
+    private int threads;
+
+    @Value("${app.preview.wait-ms:10000}")
+    private long waitMs;
+
+    // sha256 -> thumbnail bytes, least recently used first
+    private final LinkedHashMap<String, Long> lru = new LinkedHashMap<>(256, 0.75f, true);
+    private long cachedBytes;
+
+    private final Map<String, CompletableFuture<Optional<Thumbnail>>> inFlight = new ConcurrentHashMap<>();
+    private final Map<Path, HashMemo> hashes = new ConcurrentHashMap<>();
+    private final Set<String> unrenderable = ConcurrentHashMap.newKeySet();
+
+    private Path cacheDir;
+    private ExecutorService executor;
+    private volatile boolean indexLoaded;
+
+    public ReportPreviewService(ContentHashService contentHashService, DirectoryWatchService directoryWatchService) {
+        this.contentHashService = contentHashService;
+        this.directoryWatchService = directoryWatchService;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled || localBaseDir == null || localBaseDir.isBlank()) {
+            enabled = false;
+            return;
+        }
+        cacheDir = cacheDirSetting == null || cacheDirSetting.isBlank()
+                ? Paths.get(System.getProperty("user.home"), ".rwtool", "previews")
+                : Paths.get(cacheDirSetting);
+        Files.createDirectories(cacheDir);
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "report-preview-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+        // Scanning a large cache would hold up startup; until it is done, lookups check the disk
+        executor.execute(this::loadCacheIndex);
+        directoryWatchService.onRouted(this::routed);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Relative URL of the thumbnail endpoint for a report, or null when the file has no preview. */
+    public String previewUrl(String folder, String fileName) {
+        if (!enabled || folder == null || fileName == null || !isPdf(fileName)) {
+            return null;
+        }
+        return "/reports/preview?folder=" + URLEncoder.encode(folder, StandardCharsets.UTF_8)
+                + "&fileName=" + URLEncoder.encode(fileName, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Thumbnail of baseDir/reports/&lt;folder&gt;/&lt;fileName&gt;, rendering it if needed.
+     * Empty when the file does not exist, is not a PDF or cannot be rendered (e.g. encrypted).
+     * Throws TimeoutException when rendering takes longer than app.preview.wait-ms; it carries
+     * on in the background and the next request is served from the cache.
+     */
+    public Optional<Thumbnail> thumbnail(String folder, String fileName) throws IOException, TimeoutException {
+        if (!enabled || !isPdf(fileName)) {
+            return Optional.empty();
+        }
+        Path reports = Paths.get(localBaseDir).resolve("reports").normalize();
+        Path file = reports.resolve(folder).resolve(fileName).normalize();
+        if (!file.startsWith(reports) || !reports.equals(file.getParent().getParent())) {
+            throw new IllegalArgumentException("Invalid report path: " + folder + "/" + fileName);
+        }
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        // A file not hashed yet is hashed on the preview pool, so a large PDF counts against wait-ms too
+        String known = memoizedHash(file);
+        CompletableFuture<Optional<Thumbnail>> pending = known != null
+                ? lookup(file, known)
+                : CompletableFuture.supplyAsync(() -> sha256Unchecked(file), executor)
+                        .thenCompose(sha -> lookup(file, sha));
+        try {
+            return pending.get(waitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while rendering preview", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private void routed(Path file) {
+        if (!isPdf(file.getFileName().toString())) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                lookup(file, sha256(file));
+            } catch (IOException e) {
+                log.debug("No preview for routed file {}: {}", file, e.getMessage());
+            }
+        });
+    }
+
+    private CompletableFuture<Optional<Thumbnail>> lookup(Path file, String sha) {
+        Optional<Thumbnail> cached = cached(sha);
+        if (cached.isPresent() || unrenderable.contains(sha)) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return generate(file, sha);
+    }
+
+    // One render per content hash, however many requests or routed copies ask for it
+    private CompletableFuture<Optional<Thumbnail>> generate(Path file, String sha) {
+        return inFlight.computeIfAbsent(sha, key -> CompletableFuture.supplyAsync(() -> {
+            try {
+                return Optional.of(render(file, sha));
+            } catch (IOException | RuntimeException e) {
+                remember(unrenderable, sha);
+                log.info("Could not render preview of {}: {}", file.getFileName(), e.getMessage());
+                return Optional.<Thumbnail>empty();
+            } finally {
+                inFlight.remove(sha);
+            }
+        }, executor));
+    }
+
+    private Thumbnail render(Path file, String sha) throws IOException {
+        Path png = cacheDir.resolve(sha + ".png");
+        Path tmp = cacheDir.resolve(sha + ".png.part");
+        try (PDDocument document = Loader.loadPDF(file.toFile())) {
+            if (document.getNumberOfPages() == 0) {
+                throw new IOException("PDF has no pages");
+            }
+            PDPage page = document.getPage(0);
+            float pageWidth = page.getRotation() % 180 == 0 ? page.getCropBox().getWidth() : page.getCropBox().getHeight();
+            float scale = width / Math.max(1f, pageWidth);
+            BufferedImage image = new PDFRenderer(document).renderImage(0, scale, ImageType.RGB);
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                ImageIO.write(image, "png", out);
+            }
+            Files.move(tmp, png, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        added(sha, Files.size(png));
+        return new Thumbnail(png, sha);
+    }
+
+    private Optional<Thumbnail> cached(String sha) {
+        Path png = cacheDir.resolve(sha + ".png");
+        boolean indexed;
+        synchronized (lru) {
+            indexed = lru.get(sha) != null;
+        }
+        // Disk check stays outside the monitor so a slow volume does not pin a virtual thread's carrier
+        if (!indexed && (indexLoaded || !Files.isRegularFile(png))) {
+            return Optional.empty();
+        }
+        try {
+            Files.setLastModifiedTime(png, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException e) {
+            // evicted or removed by hand since it was indexed
+            synchronized (lru) {
+                Long size = lru.remove(sha);
+                cachedBytes -= size == null ? 0 : size;
+            }
+            return Optional.empty();
+        }
+        return Optional.of(new Thumbnail(png, sha));
+    }
+
+    private void added(String sha, long size) {
+        List<String> evicted = new ArrayList<>();
+        synchronized (lru) {
+            Long previous = lru.put(sha, size);
+            cachedBytes += size - (previous == null ? 0 : previous);
+            long limit = cacheMaxMb * 1024 * 1024;
+            Iterator<Map.Entry<String, Long>> it = lru.entrySet().iterator();
+            while (cachedBytes > limit && it.hasNext()) {
+                Map.Entry<String, Long> eldest = it.next();
+                if (eldest.getKey().equals(sha)) {
+                    continue;
+                }
+                cachedBytes -= eldest.getValue();
+                evicted.add(eldest.getKey());
+                it.remove();
+            }
+        }
+        for (String old : evicted) {
+            try {
+                Files.deleteIfExists(cacheDir.resolve(old + ".png"));
+            } catch (IOException e) {
+                log.debug("Could not evict preview {}: {}", old, e.getMessage());
+            }
+        }
+    }
+
+    // Oldest first, so insertion order matches recency
+    private void loadCacheIndex() {
+        List<Path> files = new ArrayList<>();
+        Map<Path, BasicFileAttributes> attributes = new LinkedHashMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(cacheDir, "*.png")) {
+            for (Path file : stream) {
+                files.add(file);
+                attributes.put(file, Files.readAttributes(file, BasicFileAttributes.class));
+            }
+        } catch (IOException e) {
+            log.warn("Could not scan preview cache {}: {}", cacheDir, e.getMessage());
+        }
+        files.sort(Comparator.comparing(f -> attributes.get(f).lastModifiedTime()));
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            added(name.substring(0, name.length() - ".png".length()), attributes.get(file).size());
+        }
+        indexLoaded = true;
+        log.info("Preview cache {}: {} thumbnails, {} KB", cacheDir, files.size(), cachedBytes / 1024);
+    }
+
+    // Hash already computed for this version of the file, or null
+    private String memoizedHash(Path file) throws IOException {
+        BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        HashMemo memo = hashes.get(file);
+        if (memo != null && memo.size() == attrs.size() && memo.modified() == attrs.lastModifiedTime().toMillis()) {
+            return memo.sha256();
+        }
+        return null;
+    }
+
+    private String sha256Unchecked(Path file) {
+        try {
+            return sha256(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Recorded hash when import/routing stored one, else hashed once per file version
+    private String sha256(Path file) throws IOException {
+        BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        long modified = attrs.lastModifiedTime().toMillis();
+        HashMemo memo = hashes.get(file);
+        if (memo != null && memo.size() == attrs.size() && memo.modified() == modified) {
+            return memo.sha256();
+        }
+        // content_hashes keys report files by their folder relative to baseDir
+        String sha = contentHashService.recordedHash("reports/" + file.getParent().getFileName(),
+                        file.getFileName().toString(), attrs.size())
+                .orElse(null);
+        if (sha == null) {
+            sha = contentHashService.hash(file);
+        }
+        if (hashes.size() >= MAX_REMEMBERED) {
+            hashes.clear();
+        }
+        hashes.put(file, new HashMemo(attrs.size(), modified, sha));
+        return sha;
+    }
+
+    private static void remember(Set<String> set, String value) {
+        if (set.size() >= MAX_REMEMBERED) {
+            set.clear();
+        }
+        set.add(value);
+    }
+
+    private static boolean isPdf(String fileName) {
+        return fileName.toLowerCase().endsWith(".pdf");
+    }
+
+    private record HashMemo(long size, long modified, String sha256) {}
+}
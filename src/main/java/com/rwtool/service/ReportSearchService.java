@@ -0,0 +1,339 @@
+package com.rwtool.service;
+
+import com.rwtool.dto.SearchHitDTO;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermInSetQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.LockObtainFailedException;
+import org.apache.lucene.util.Bits;
+import org.apache.lucene.util.BytesRef;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Embedded Lucene index over the text of reports under baseDir/reports, so users can find a
+ * report by its contents instead of downloading folders to grep them.
+ * One document per file, keyed by "folder/fileName". Files are (re)indexed when routing
+ * publishes them into reports/, and a reconcile pass at startup and every
+ * app.search.reconcile-minutes picks up files that arrived some other way, changed or were
+ * removed. All index writes happen on one background thread; changes become searchable at
+ * the next flush (app.search.refresh-ms).
+ * The index lives on node-local disk (app.search.index-dir, default ~/.rwtool/search-index),
+ * never on the shared baseDir: each node keeps its own and Lucene's write lock allows one writer.
+ */
+@Service
+public class ReportSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportSearchService.class);
+
+    private static final String PATH = "path";
+    private static final String FOLDER = "folder";
+    private static final String NAME = "name";
+    private static final String CONTENT = "content";
+    private static final String SIZE = "size";
+    private static final String MODIFIED = "modified";
+    private static final String VERSION = "version";
+
+    private final ReportTextExtractor textExtractor;
+    private final ReportPreviewService reportPreviewService;
+    private final DirectoryWatchService directoryWatchService;
+
+    @Value("${app.storage.local.baseDir:}")
+    private String localBaseDir;
+
+    @Value("${app.search.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.search.index-dir:}")
+    private String indexDirSetting;
+
+    @Value("${app.search.refresh-ms:2000}")
+    private long refreshMs;
+
+    @Value("${app.search.reconcile-minutes:60}")
+    private long reconcileMinutes;
+
+    @Value("${app.search.max-file-mb:100}")
+    private long maxFileMb;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    private Path reportsDir;
+    private FSDirectory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private ScheduledExecutorService indexer;
+
+    public ReportSearchService(ReportTextExtractor textExtractor, ReportPreviewService reportPreviewService,
+                               DirectoryWatchService directoryWatchService) {
+        this.textExtractor = textExtractor;
+        this.reportPreviewService = reportPreviewService;
+        this.directoryWatchService = directoryWatchService;
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!enabled || localBaseDir == null || localBaseDir.isBlank()) {
+            enabled = false;
+            return;
+        }
+        reportsDir = Paths.get(localBaseDir).resolve("reports").normalize();
+        Path indexDir = indexDirSetting == null || indexDirSetting.isBlank()
+                ? Paths.get(System.getProperty("user.home"), ".rwtool", "search-index")
+                : Paths.get(indexDirSetting);
+        Files.createDirectories(indexDir);
+        directory = FSDirectory.open(indexDir);
+        try {
+            writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        } catch (LockObtainFailedException e) {
+            // another node or process owns this directory: give this node its own app.search.index-dir
+            log.warn("Search index {} is locked by another process; report search is disabled on this node", indexDir);
+            directory.close();
+            enabled = false;
+            return;
+        }
+        searcherManager = new SearcherManager(writer, null);
+
+        indexer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "report-indexer");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+        indexer.scheduleWithFixedDelay(this::flush, refreshMs, refreshMs, TimeUnit.MILLISECONDS);
+        indexer.scheduleWithFixedDelay(this::reconcile, 0, Math.max(1, reconcileMinutes), TimeUnit.MINUTES);
+        directoryWatchService.onRouted(file -> indexer.execute(() -> indexQuietly(file)));
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (indexer == null) {
+            return;
+        }
+        indexer.shutdownNow();
+        try {
+            indexer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Reports in the given folders whose name or text matches the query, best first.
+     * The query uses Lucene syntax ("quarterly AND risk", "\"exact phrase\"", "lim*");
+     * input that does not parse is searched as plain words. All words must match.
+     */
+    public List<SearchHitDTO> search(String queryText, Collection<String> folders, int limit) throws IOException {
+        if (!enabled) {
+            throw new IllegalStateException("Report search is not enabled");
+        }
+        if (queryText == null || queryText.isBlank()) {
+            throw new IllegalArgumentException("Query is required");
+        }
+        if (folders.isEmpty()) {
+            return List.of();
+        }
+        List<BytesRef> allowed = folders.stream().map(BytesRef::new).toList();
+        Query query = new BooleanQuery.Builder()
+                .add(parse(queryText), BooleanClause.Occur.MUST)
+                .add(new TermInSetQuery(FOLDER, allowed), BooleanClause.Occur.FILTER)
+                .build();
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs top = searcher.search(query, limit);
+            StoredFields stored = searcher.storedFields();
+            List<SearchHitDTO> hits = new ArrayList<>(top.scoreDocs.length);
+            for (ScoreDoc scoreDoc : top.scoreDocs) {
+                Document doc = stored.document(scoreDoc.doc);
+                String folder = doc.get(FOLDER);
+                String name = doc.get(NAME);
+                hits.add(new SearchHitDTO(folder, name,
+                        doc.getField(SIZE).numericValue().longValue(),
+                        doc.getField(MODIFIED).numericValue().longValue(),
+                        scoreDoc.score,
+                        reportPreviewService.previewUrl(folder, name)));
+            }
+            return hits;
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    private Query parse(String queryText) {
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(new String[]{NAME, CONTENT}, analyzer,
+                Map.of(NAME, 2.0f, CONTENT, 1.0f));
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        try {
+            return parser.parse(queryText);
+        } catch (ParseException e) {
+            try {
+                return parser.parse(QueryParser.escape(queryText));
+            } catch (ParseException again) {
+                throw new IllegalArgumentException("Invalid query: " + queryText);
+            }
+        }
+    }
+
+    private void indexQuietly(Path file) {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            index(file, attrs);
+        } catch (IOException | RuntimeException e) {
+            log.info("Could not index {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void index(Path file, BasicFileAttributes attrs) throws IOException {
+        if (!file.startsWith(reportsDir) || !reportsDir.equals(file.getParent().getParent())
+                || !textExtractor.supports(file.getFileName().toString())) {
+            return;
+        }
+        String folder = file.getParent().getFileName().toString();
+        String name = file.getFileName().toString();
+        String path = folder + "/" + name;
+
+        // Too big to extract: still findable by name
+        String content = attrs.size() > maxFileMb * 1024 * 1024 ? "" : textExtractor.extract(file);
+
+        Document doc = new Document();
+        doc.add(new StringField(PATH, path, Field.Store.YES));
+        doc.add(new StringField(FOLDER, folder, Field.Store.YES));
+        doc.add(new TextField(NAME, name, Field.Store.YES));
+        doc.add(new TextField(CONTENT, content, Field.Store.NO));
+        doc.add(new StoredField(SIZE, attrs.size()));
+        doc.add(new StoredField(MODIFIED, attrs.lastModifiedTime().toMillis()));
+        doc.add(new StringField(VERSION, version(attrs), Field.Store.YES));
+        writer.updateDocument(new Term(PATH, path), doc);
+        dirty.set(true);
+    }
+
+    // Index what changed on disk since the last pass and drop files that are gone
+    private void reconcile() {
+        try {
+            Map<String, String> indexed = indexedVersions();
+            int updated = 0;
+            if (Files.isDirectory(reportsDir)) {
+                try (DirectoryStream<Path> folders = Files.newDirectoryStream(reportsDir, Files::isDirectory)) {
+                    for (Path folder : folders) {
+                        try (DirectoryStream<Path> files = Files.newDirectoryStream(folder)) {
+                            for (Path file : files) {
+                                String path = folder.getFileName() + "/" + file.getFileName();
+                                String version = indexed.remove(path);
+                                try {
+                                    BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+                                    if (!attrs.isRegularFile() || !textExtractor.supports(path)
+                                            || version(attrs).equals(version)) {
+                                        continue;
+                                    }
+                                    index(file, attrs);
+                                    updated++;
+                                } catch (IOException | RuntimeException e) {
+                                    log.info("Could not index {}: {}", file, e.getMessage());
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+            for (String gone : indexed.keySet()) {
+                writer.deleteDocuments(new Term(PATH, gone));
+                dirty.set(true);
+            }
+            flush();
+            if (updated > 0 || !indexed.isEmpty()) {
+                log.info("Report index reconciled: {} indexed, {} removed", updated, indexed.size());
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Report index reconcile failed: {}", e.getMessage());
+        }
+    }
+
+    private Map<String, String> indexedVersions() throws IOException {
+        Map<String, String> versions = new HashMap<>();
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            for (LeafReaderContext leaf : searcher.getIndexReader().leaves()) {
+                Bits live = leaf.reader().getLiveDocs();
+                StoredFields stored = leaf.reader().storedFields();
+                for (int doc = 0; doc < leaf.reader().maxDoc(); doc++) {
+                    if (live == null || live.get(doc)) {
+                        Document fields = stored.document(doc, Set.of(PATH, VERSION));
+                        versions.put(fields.get(PATH), fields.get(VERSION));
+                    }
+                }
+            }
+        } finally {
+            searcherManager.release(searcher);
+        }
+        return versions;
+    }
+
+    private void flush() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        try {
+            writer.commit();
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            dirty.set(true);
+            log.warn("Report index flush failed: {}", e.getMessage());
+        }
+    }
+
+    private static String version(BasicFileAttributes attrs) {
+        return attrs.size() + ":" + attrs.lastModifiedTime().toMillis();
+    }
+}
@@ -0,0 +1,116 @@
+package com.rwtool.service;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Plain text of a report for the search index: PDF through PDFBox, DOCX by reading
+ * word/document.xml with StAX, CSV/TXT as UTF-8. Output is capped at
+ * app.search.max-chars so one huge export cannot dominate indexing time or the index.
+ */
+@Component
+public class ReportTextExtractor {
+
+    @Value("${app.search.max-chars:1000000}")
+    private int maxChars;
+
+    @Value("${app.search.max-pdf-pages:500}")
+    private int maxPdfPages;
+
+    public boolean supports(String fileName) {
+        String lower = fileName.toLowerCase();
+        return lower.endsWith(".pdf") || lower.endsWith(".docx") || lower.endsWith(".csv") || lower.endsWith(".txt");
+    }
+
+    /** Extracted text, or an empty string for unsupported files. */
+    public String extract(Path file) throws IOException {
+        String lower = file.getFileName().toString().toLowerCase();
+        if (lower.endsWith(".pdf")) {
+            return pdf(file);
+        }
+        if (lower.endsWith(".docx")) {
+            return docx(file);
+        }
+        if (lower.endsWith(".csv") || lower.endsWith(".txt")) {
+            return text(file);
+        }
+        return "";
+    }
+
+    private String pdf(Path file) throws IOException {
+        try (PDDocument document = Loader.loadPDF(file.toFile())) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setEndPage(maxPdfPages);
+            return cap(stripper.getText(document));
+        }
+    }
+
+    private String docx(Path file) throws IOException {
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            ZipEntry entry = zip.getEntry("word/document.xml");
+            if (entry == null) {
+                return "";
+            }
+            try (InputStream in = zip.getInputStream(entry)) {
+                XMLInputFactory factory = XMLInputFactory.newFactory();
+                factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+                factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+                XMLStreamReader reader = factory.createXMLStreamReader(in);
+                StringBuilder text = new StringBuilder();
+                try {
+                    while (reader.hasNext() && text.length() < maxChars) {
+                        int event = reader.next();
+                        if (event == XMLStreamConstants.CHARACTERS) {
+                            text.append(reader.getText());
+                        } else if (event == XMLStreamConstants.END_ELEMENT) {
+                            // paragraph, tab and line break boundaries keep words apart
+                            String name = reader.getLocalName();
+                            if (name.equals("p") || name.equals("tab") || name.equals("br")) {
+                                text.append(name.equals("p") ? '\n' : ' ');
+                            }
+                        }
+                    }
+                } finally {
+                    reader.close();
+                }
+                return cap(text.toString());
+            } catch (XMLStreamException e) {
+                throw new IOException("Unreadable DOCX: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    // Malformed bytes are replaced rather than failing the whole file
+    private String text(Path file) throws IOException {
+        try (Reader reader = new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8)) {
+            char[] buf = new char[8192];
+            StringBuilder text = new StringBuilder();
+            int n;
+            while (text.length() < maxChars && (n = reader.read(buf)) != -1) {
+                text.append(buf, 0, n);
+            }
+            return cap(text.toString());
+        }
+    }
+
+    private String cap(String text) {
+        return text.length() <= maxChars ? text : text.substring(0, maxChars);
+    }
+}
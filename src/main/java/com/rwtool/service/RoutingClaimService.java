@@ -0,0 +1,65 @@
+package com.rwtool.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-file claims in routing_claims that let several nodes route the same incoming
+ * directory without racing on Files.move or writing duplicate RoutingLog rows.
+ * A claim is taken before a file is moved and released once its log row is written;
+ * claims left behind by a crashed node expire after app.cluster.routing-claim-ttl-seconds.
+ * Claims are also held in memory, so a manual route-one and a drain on the same node exclude
+ * each other even when clustering is disabled.
+ */
+@Service
+public class RoutingClaimService {
+
+    private static final String CLAIM_SQL =
+            "INSERT INTO routing_claims (file_name, claimed_by, claimed_at, expires_at) " +
+            "VALUES (?, ?, now(), now() + (? * interval '1 second')) " +
+            "ON CONFLICT (file_name) DO UPDATE SET claimed_by = EXCLUDED.claimed_by, " +
+            "claimed_at = EXCLUDED.claimed_at, expires_at = EXCLUDED.expires_at " +
+            "WHERE routing_claims.expires_at < now()";
+
+    private static final String RELEASE_SQL =
+            "DELETE FROM routing_claims WHERE file_name = ? AND claimed_by = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ClusterNode clusterNode;
+    private final Set<String> localClaims = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.cluster.routing-claim-ttl-seconds:300}")
+    private long claimTtlSeconds;
+
+    public RoutingClaimService(JdbcTemplate jdbcTemplate, ClusterNode clusterNode) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.clusterNode = clusterNode;
+    }
+
+    /** True when the caller now owns the file; false when another run or node holds a live claim. */
+    public boolean tryClaim(String fileName) {
+        if (!localClaims.add(fileName)) {
+            return false;
+        }
+        if (clusterNode.isEnabled()
+                && jdbcTemplate.update(CLAIM_SQL, fileName, clusterNode.getNodeId(), claimTtlSeconds) != 1) {
+            localClaims.remove(fileName);
+            return false;
+        }
+        return true;
+    }
+
+    public void release(String fileName) {
+        try {
+            if (clusterNode.isEnabled()) {
+                jdbcTemplate.update(RELEASE_SQL, fileName, clusterNode.getNodeId());
+            }
+        } finally {
+            localClaims.remove(fileName);
+        }
+    }
+}
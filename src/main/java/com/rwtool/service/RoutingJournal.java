@@ -0,0 +1,275 @@
+package com.rwtool.service;
+
+import com.rwtool.model.RoutingLog;
+import com.rwtool.repository.RoutingLogRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead journal for routing moves, kept in a memory-mapped append-only file.
+ * Routing writes an INTENT record (fileName, from, to) before Files.move and a COMMIT
+ * record once the RoutingLog row is persisted. Because the file is memory-mapped,
+ * records survive a JVM crash without an fsync per move (set app.routing.journal.fsync=true
+ * to also survive power loss).
+ * At startup, intents without a commit are reconciled against the file system:
+ * <ul>
+ *   <li>source gone, target present: the move happened, the missing RoutingLog row is written</li>
+ *   <li>source present, target absent: the move never happened, the file is routed again normally</li>
+ *   <li>anything else is logged as an ERROR row for an operator to look at</li>
+ * </ul>
+ * The journal lives on node-local disk (default ~/.rwtool/routing/journal.log, or
+ * app.routing.journal.path), never on the shared share: each node replays and compacts only
+ * its own intents, and recovery must not act on another node's moves in flight.
+ * Record layout: magic(1) type(1) id(8) length(4) payload(length) crc32(4).
+ */
+@Service
+public class RoutingJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(RoutingJournal.class);
+
+    private static final byte MAGIC = 0x52;
+    private static final byte INTENT = 'I';
+    private static final byte COMMIT = 'C';
+    private static final int HEADER = 1 + 1 + 8 + 4;
+    private static final int TRAILER = 4;
+
+    private final RoutingLogRepository routingLogRepository;
+
+    @Value("${app.storage.local.baseDir:}")
+    private String localBaseDir;
+
+    @Value("${app.routing.journal.path:}")
+    private String journalPath;
+
+    @Value("${app.routing.journal.capacity-bytes:16777216}")
+    private int capacity;
+
+    @Value("${app.routing.journal.fsync:false}")
+    private boolean fsync;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final Map<Long, Intent> pending = new LinkedHashMap<>();
+    private Path file;
+    private boolean compacting;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+
+    public RoutingJournal(RoutingLogRepository routingLogRepository) {
+        this.routingLogRepository = routingLogRepository;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (localBaseDir == null || localBaseDir.isBlank()) {
+            return;
+        }
+        file = journalPath != null && !journalPath.isBlank()
+                ? Paths.get(journalPath)
+                : Paths.get(System.getProperty("user.home"), ".rwtool", "routing", "journal.log");
+        Files.createDirectories(file.getParent());
+        map();
+        replay();
+        recover();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (channel != null) {
+            buffer.force();
+            channel.close();
+        }
+    }
+
+    public boolean isEnabled() {
+        return buffer != null;
+    }
+
+    /** Record the intent to move a file; returns the id to pass to {@link #commit(long)}. */
+    public long begin(String fileName, String fromPath, String toPath) {
+        long id = nextId.getAndIncrement();
+        if (!isEnabled()) {
+            return id;
+        }
+        Intent intent = new Intent(id, fileName, fromPath, toPath);
+        lock.lock();
+        try {
+            append(INTENT, id, intent.encode());
+            pending.put(id, intent);
+        } finally {
+            lock.unlock();
+        }
+        return id;
+    }
+
+    /** Record that the move and its RoutingLog row are done (or that the move was abandoned). */
+    public void commit(long id) {
+        if (!isEnabled()) {
+            return;
+        }
+        lock.lock();
+        try {
+            append(COMMIT, id, new byte[0]);
+            pending.remove(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int pendingCount() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void append(byte type, long id, byte[] payload) {
+        int size = HEADER + payload.length + TRAILER;
+        if (buffer.remaining() < size) {
+            if (!compacting) {
+                compact();
+            }
+            if (buffer.remaining() < size) {
+                throw new IllegalStateException("Routing journal capacity too small for pending intents");
+            }
+        }
+        int start = buffer.position();
+        buffer.put(MAGIC).put(type).putLong(id).putInt(payload.length).put(payload);
+        CRC32 crc = new CRC32();
+        for (int i = start; i < buffer.position(); i++) {
+            crc.update(buffer.get(i));
+        }
+        buffer.putInt((int) crc.getValue());
+        if (fsync) {
+            buffer.force();
+        }
+    }
+
+    // Rewrite the journal with only the still-pending intents, then continue appending to the new file
+    private void compact() {
+        compacting = true;
+        try {
+            buffer.force();
+            channel.close();
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.deleteIfExists(tmp);
+            Path current = file;
+            file = tmp;
+            map();
+            for (Intent intent : pending.values()) {
+                append(INTENT, intent.id, intent.encode());
+            }
+            buffer.force();
+            channel.close();
+            Files.move(tmp, current, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            file = current;
+            int position = buffer.position();
+            map();
+            buffer.position(position);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not compact routing journal", e);
+        } finally {
+            compacting = false;
+        }
+    }
+
+    private void map() throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    // Read records up to the first torn or empty one and rebuild the pending set
+    private void replay() {
+        long maxId = 0;
+        buffer.position(0);
+        while (buffer.remaining() >= HEADER + TRAILER) {
+            int start = buffer.position();
+            if (buffer.get(start) != MAGIC) {
+                break;
+            }
+            byte type = buffer.get(start + 1);
+            long id = buffer.getLong(start + 2);
+            int length = buffer.getInt(start + 10);
+            if (length < 0 || start + HEADER + length + TRAILER > buffer.limit()) {
+                break;
+            }
+            CRC32 crc = new CRC32();
+            for (int i = start; i < start + HEADER + length; i++) {
+                crc.update(buffer.get(i));
+            }
+            if ((int) crc.getValue() != buffer.getInt(start + HEADER + length)) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(start + HEADER, payload);
+            if (type == INTENT) {
+                pending.put(id, Intent.decode(id, payload));
+            } else if (type == COMMIT) {
+                pending.remove(id);
+            }
+            maxId = Math.max(maxId, id);
+            buffer.position(start + HEADER + length + TRAILER);
+        }
+        // Anything after the last valid record is a torn write; recover() always compacts into a fresh file
+        nextId.set(maxId + 1);
+    }
+
+    private void recover() {
+        if (pending.isEmpty()) {
+            compact();
+            return;
+        }
+        log.info("Reconciling {} unfinished routing move(s) from the journal", pending.size());
+        Path base = Paths.get(localBaseDir);
+        for (Intent intent : pending.values().toArray(new Intent[0])) {
+            boolean sourceExists = Files.exists(base.resolve(intent.fromPath));
+            boolean targetExists = Files.exists(base.resolve(intent.toPath));
+            if (!sourceExists && targetExists) {
+                if (!routingLogRepository.existsByFileNameAndToPathAndAction(intent.fileName, intent.toPath, "MOVED")) {
+                    routingLogRepository.save(new RoutingLog(null, intent.fileName, "MOVED", intent.fromPath,
+                            intent.toPath, "Recovered from routing journal after restart", null));
+                }
+            } else if (!(sourceExists && !targetExists)) {
+                routingLogRepository.save(new RoutingLog(null, intent.fileName, "ERROR", intent.fromPath,
+                        intent.toPath, "Interrupted move: source " + (sourceExists ? "present" : "missing")
+                        + ", target " + (targetExists ? "present" : "missing") + "; needs manual check", null));
+            }
+            pending.remove(intent.id);
+        }
+        compact();
+    }
+
+    private record Intent(long id, String fileName, String fromPath, String toPath) {
+
+        byte[] encode() {
+            return String.join("\u0000", fileName, fromPath, toPath).getBytes(StandardCharsets.UTF_8);
+        }
+
+        static Intent decode(long id, byte[] payload) {
+            String[] parts = new String(payload, StandardCharsets.UTF_8).split("\u0000", 3);
+            return new Intent(id, parts[0], parts.length > 1 ? parts[1] : "", parts.length > 2 ? parts[2] : "");
+        }
+    }
+}
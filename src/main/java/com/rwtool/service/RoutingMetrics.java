@@ -0,0 +1,62 @@
+package com.rwtool.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Routing meters: rwtool.routing.route_one (latency histogram per outcome) and
+ * rwtool.routing.moves (count per outcome: moved, skipped, error).
+ */
+@Service
+public class RoutingMetrics {
+
+    public static final String ROUTE_ONE = "rwtool.routing.route_one";
+    public static final String MOVES = "rwtool.routing.moves";
+
+    private final MeterRegistry registry;
+
+    public RoutingMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /** Time a single-file route and count its outcome from the result's "moved" flag. */
+    public Map<String, Object> routeOne(Supplier<Map<String, Object>> route) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            Map<String, Object> result = route.get();
+            outcome = Boolean.TRUE.equals(result.get("moved")) ? "moved" : "skipped";
+            return result;
+        } finally {
+            sample.stop(Timer.builder(ROUTE_ONE)
+                    .description("Time to route one file from incoming")
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(registry));
+            moves(outcome).increment();
+        }
+    }
+
+    /** Count the outcomes of a full run from its summary map (moved / skipped / errors). */
+    public void recordRun(Map<String, Object> summary) {
+        moves("moved").increment(number(summary.get("moved")));
+        moves("skipped").increment(number(summary.get("skipped")));
+        moves("error").increment(number(summary.get("errors")));
+    }
+
+    private Counter moves(String outcome) {
+        return Counter.builder(MOVES)
+                .description("Files handled by routing, by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number n ? n.doubleValue() : 0;
+    }
+}
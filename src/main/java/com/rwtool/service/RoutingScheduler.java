@@ -0,0 +1,229 @@
+package com.rwtool.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Drains baseDir/incoming on a schedule (see SchedulingConfig) in batches whose size adapts
+ * to how long each file takes to route and to how large the backlog is:
+ * the batch grows additively while per-file latency stays under the target and the backlog
+ * is larger than one batch, and is halved when latency goes over the target.
+ * Only one run, scheduled or manual, is active at a time. Scheduled runs pause for
+ * batch-pause-ms between batches to leave the share to other traffic; a manual run has a caller
+ * waiting on it and drains without pausing.
+ */
+@Service
+public class RoutingScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(RoutingScheduler.class);
+
+    private final RoutingService routingService;
+    private final LocalRouter localRouter;
+    private final DirectoryWatchService directoryWatchService;
+    private final RoutingClaimService routingClaimService;
+    private final RoutingMetrics routingMetrics;
+    private final RoutingTraceService routingTraceService;
+
+    @Value("${app.routing.schedule.min-batch:10}")
+    private int minBatch;
+
+    @Value("${app.routing.schedule.max-batch:1000}")
+    private int maxBatch;
+
+    @Value("${app.routing.schedule.batch-step:25}")
+    private int batchStep;
+
+    @Value("${app.routing.schedule.target-latency-ms:200}")
+    private long targetLatencyMs;
+
+    @Value("${app.routing.schedule.batch-pause-ms:500}")
+    private long batchPauseMs;
+
+    @Value("${app.routing.schedule.max-run-seconds:300}")
+    private long maxRunSeconds;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile int batchSize = 100;
+    private volatile Map<String, Object> lastRun = Map.of();
+
+    public RoutingScheduler(RoutingService routingService, LocalRouter localRouter,
+                            DirectoryWatchService directoryWatchService, RoutingClaimService routingClaimService,
+                            RoutingMetrics routingMetrics, RoutingTraceService routingTraceService) {
+        this.routingService = routingService;
+        this.localRouter = localRouter;
+        this.directoryWatchService = directoryWatchService;
+        this.routingClaimService = routingClaimService;
+        this.routingMetrics = routingMetrics;
+        this.routingTraceService = routingTraceService;
+    }
+
+    public void runScheduled() {
+        Optional<Map<String, Object>> result = runExclusive(() -> drainIncoming(true));
+        if (result.isEmpty()) {
+            log.info("Skipping scheduled routing run, previous run still in progress");
+        }
+    }
+
+    /**
+     * A manual run: drains incoming file by file like the schedule in local mode (so moves get
+     * claims, log rows, routed events and per-file metrics) but without the pauses between batches,
+     * otherwise RoutingService's own run.
+     */
+    public Map<String, Object> runNow() {
+        return localRouter.isLocal() ? drainIncoming(false) : routingService.runRoutingNow();
+    }
+
+    /**
+     * Runs the task unless another routing run is active, in which case nothing happens and empty is returned.
+     * The run is traced: its id is added to the result and leads to GET /api/routing/runs/{id}.
+     */
+    public Optional<Map<String, Object>> runExclusive(Supplier<Map<String, Object>> task) {
+        if (!running.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        String runId = routingTraceService.beginRun();
+        try {
+            Map<String, Object> result = new HashMap<>(task.get());
+            result.put("runId", runId);
+            lastRun = result;
+            return Optional.of(result);
+        } finally {
+            routingTraceService.endRun();
+            running.set(false);
+        }
+    }
+
+    public Map<String, Object> status() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("running", running.get());
+        status.put("batchSize", batchSize);
+        status.put("backlog", directoryWatchService.snapshot(DirectoryWatchService.INCOMING).size());
+        status.put("lastRun", lastRun);
+        return status;
+    }
+
+    private Map<String, Object> drainIncoming(boolean pauseBetweenBatches) {
+        Instant started = Instant.now();
+        Instant deadline = started.plusSeconds(maxRunSeconds);
+        int processed = 0;
+        int moved = 0;
+        int skipped = 0;
+        int errors = 0;
+        int batches = 0;
+
+        long listStart = System.nanoTime();
+        List<String> backlog = pendingFiles();
+        routingTraceService.recordRunDiscover((System.nanoTime() - listStart) / 1_000L);
+        int cursor = 0;
+        while (cursor < backlog.size() && Instant.now().isBefore(deadline)) {
+            int size = batchSize;
+            List<String> batch = backlog.subList(cursor, Math.min(cursor + size, backlog.size()));
+            cursor += batch.size();
+            batches++;
+
+            long batchStart = System.nanoTime();
+            Map<String, RoutingService.DryRunDecision> decisions = localRouter.isLocal() ? decide(batch) : Map.of();
+            for (String fileName : batch) {
+                if (!routingClaimService.tryClaim(fileName)) {
+                    skipped++;
+                    continue;
+                }
+                try {
+                    RoutingService.DryRunDecision decision = decisions.get(fileName);
+                    Map<String, Object> result = routingMetrics.routeOne(() -> localRouter.route(fileName, decision));
+                    processed++;
+                    if (Boolean.TRUE.equals(result.get("moved"))) {
+                        moved++;
+                    } else {
+                        skipped++;
+                    }
+                } catch (RuntimeException e) {
+                    processed++;
+                    errors++;
+                    log.warn("Scheduled routing of {} failed: {}", fileName, e.getMessage());
+                } finally {
+                    routingClaimService.release(fileName);
+                }
+            }
+            long perFileMs = batch.isEmpty() ? 0 : (System.nanoTime() - batchStart) / 1_000_000L / batch.size();
+            adapt(perFileMs, backlog.size() - cursor);
+
+            if (pauseBetweenBatches && cursor < backlog.size() && batchPauseMs > 0) {
+                try {
+                    Thread.sleep(batchPauseMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("startedAt", started.toString());
+        summary.put("durationMs", Duration.between(started, Instant.now()).toMillis());
+        summary.put("backlog", backlog.size());
+        summary.put("remaining", backlog.size() - cursor);
+        summary.put("processed", processed);
+        summary.put("moved", moved);
+        summary.put("skipped", skipped);
+        summary.put("errors", errors);
+        summary.put("batches", batches);
+        summary.put("batchSize", batchSize);
+        return summary;
+    }
+
+    // One path-config load for the whole batch instead of one per file; a file missing here is decided on its own
+    private Map<String, RoutingService.DryRunDecision> decide(List<String> batch) {
+        Map<String, RoutingService.DryRunDecision> byName = new HashMap<>();
+        try {
+            for (RoutingService.DryRunDecision decision : routingService.dryRunDecisions(batch)) {
+                byName.put(decision.getFileName(), decision);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Routing decisions for a batch of {} failed, deciding per file: {}", batch.size(), e.getMessage());
+        }
+        return byName;
+    }
+
+    // AIMD: shrink fast when the share or database slows down, grow slowly while there is backlog to drain
+    private void adapt(long perFileMs, int remaining) {
+        int size = batchSize;
+        if (perFileMs > targetLatencyMs) {
+            size = Math.max(minBatch, size / 2);
+        } else if (remaining > size) {
+            size = Math.min(maxBatch, size + batchStep);
+        }
+        batchSize = size;
+    }
+
+    // Oldest first, so files are routed in arrival order
+    private List<String> pendingFiles() {
+        List<Map<String, Object>> files = directoryWatchService.snapshot(DirectoryWatchService.INCOMING);
+        if (files.isEmpty()) {
+            files = routingService.listIncomingFiles();
+        }
+        List<Map<String, Object>> sorted = new ArrayList<>(files);
+        sorted.sort(Comparator.comparingLong(m -> m.get("modified") instanceof Number n ? n.longValue() : 0L));
+        List<String> names = new ArrayList<>(sorted.size());
+        for (Map<String, Object> m : sorted) {
+            Object name = m.get("name");
+            if (name != null) {
+                names.add(name.toString());
+            }
+        }
+        return names;
+    }
+}
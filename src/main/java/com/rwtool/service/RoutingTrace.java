@@ -0,0 +1,53 @@
+package com.rwtool.service;
+
+import com.rwtool.model.RoutingLog;
+
+/**
+ * Stopwatch for one file's trip through routing. Call {@link #mark(Stage)} at the end of each
+ * stage; the time since the previous mark is added to that stage.
+ * Typical use (see LocalRouter.route):
+ * <pre>
+ * RoutingTrace trace = routingTraceService.startFile();
+ * ... stat the file ...              trace.mark(Stage.DISCOVER);
+ * ... match the path config ...      trace.mark(Stage.DECIDE);
+ * Files.createDirectories(target);   trace.mark(Stage.MKDIR);
+ * Files.move(source, target);        trace.mark(Stage.MOVE);
+ * trace.applyTo(log);
+ * routingTraceService.persisted(routingLogRepository.save(log), trace);
+ * </pre>
+ */
+public class RoutingTrace {
+
+    public enum Stage { DISCOVER, DECIDE, MKDIR, MOVE, PERSIST }
+
+    private final String runId;
+    private final long[] nanos = new long[Stage.values().length];
+    private long last = System.nanoTime();
+
+    RoutingTrace(String runId) {
+        this.runId = runId;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    public void mark(Stage stage) {
+        long now = System.nanoTime();
+        nanos[stage.ordinal()] += now - last;
+        last = now;
+    }
+
+    public long micros(Stage stage) {
+        return nanos[stage.ordinal()] / 1_000L;
+    }
+
+    /** Copy the run id and the stages measured so far (everything but persist) onto the log row. */
+    public void applyTo(RoutingLog log) {
+        log.setRunId(runId);
+        log.setDiscoverUs(micros(Stage.DISCOVER));
+        log.setDecideUs(micros(Stage.DECIDE));
+        log.setMkdirUs(micros(Stage.MKDIR));
+        log.setMoveUs(micros(Stage.MOVE));
+    }
+}
@@ -0,0 +1,187 @@
+package com.rwtool.service;
+
+import com.rwtool.model.RoutingLog;
+import com.rwtool.repository.RoutingLogRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Run ids and per-stage timings for routing.
+ * A run (manual, scheduled or a single route-one) is bound to the calling thread, so
+ * RoutingService only has to ask for a {@link RoutingTrace} per file. The persist time is
+ * only known after the RoutingLog insert; it is kept in memory and written for the whole
+ * run in one batched update when the run ends.
+ * {@link #report(String)} summarises a run from its RoutingLog rows with p50/p90/p99/max per stage.
+ */
+@Service
+public class RoutingTraceService {
+
+    private static final int RECENT_RUNS = 200;
+
+    private final RoutingLogRepository routingLogRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ThreadLocal<Run> currentRun = new ThreadLocal<>();
+    // Run-level timings (listing incoming) for recent runs; not persisted
+    private final Map<String, Long> discoverByRun = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > RECENT_RUNS;
+        }
+    });
+
+    public RoutingTraceService(RoutingLogRepository routingLogRepository, JdbcTemplate jdbcTemplate) {
+        this.routingLogRepository = routingLogRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /** Start a run on this thread and return its id. */
+    public String beginRun() {
+        Run run = new Run(UUID.randomUUID().toString());
+        currentRun.set(run);
+        return run.id;
+    }
+
+    public String currentRunId() {
+        Run run = currentRun.get();
+        return run != null ? run.id : null;
+    }
+
+    /** Time spent listing incoming for the current run. */
+    public void recordRunDiscover(long micros) {
+        Run run = currentRun.get();
+        if (run != null) {
+            discoverByRun.put(run.id, micros);
+        }
+    }
+
+    public RoutingTrace startFile() {
+        return new RoutingTrace(currentRunId());
+    }
+
+    /** Record the insert time of a log row; written with the rest of the run in {@link #endRun()}. */
+    public void persisted(RoutingLog saved, RoutingTrace trace) {
+        trace.mark(RoutingTrace.Stage.PERSIST);
+        if (saved == null || saved.getId() == null) {
+            return;
+        }
+        Run run = currentRun.get();
+        if (run != null) {
+            run.persistUs.add(new Object[]{trace.micros(RoutingTrace.Stage.PERSIST), saved.getId()});
+        } else {
+            jdbcTemplate.update("UPDATE routing_logs SET persist_us = ? WHERE id = ?",
+                    trace.micros(RoutingTrace.Stage.PERSIST), saved.getId());
+        }
+    }
+
+    public void endRun() {
+        Run run = currentRun.get();
+        currentRun.remove();
+        if (run != null && !run.persistUs.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE routing_logs SET persist_us = ? WHERE id = ?", run.persistUs);
+        }
+    }
+
+    /** Per-stage percentiles, outcome counts and the slowest files of a run; null when the run is unknown. */
+    public Map<String, Object> report(String runId) {
+        List<RoutingLog> rows = routingLogRepository.findByRunIdOrderByIdAsc(runId);
+        Long discover = discoverByRun.get(runId);
+        if (rows.isEmpty() && discover == null) {
+            return null;
+        }
+
+        Map<String, Long> outcomes = new HashMap<>();
+        rows.forEach(r -> outcomes.merge(r.getAction(), 1L, Long::sum));
+
+        Map<String, Object> stages = new LinkedHashMap<>();
+        stages.put("discover", percentiles(rows, RoutingLog::getDiscoverUs));
+        stages.put("decide", percentiles(rows, RoutingLog::getDecideUs));
+        stages.put("mkdir", percentiles(rows, RoutingLog::getMkdirUs));
+        stages.put("move", percentiles(rows, RoutingLog::getMoveUs));
+        stages.put("persist", percentiles(rows, RoutingLog::getPersistUs));
+        stages.put("total", percentiles(rows, RoutingTraceService::totalUs));
+
+        List<Map<String, Object>> slowest = new ArrayList<>();
+        rows.stream()
+                .sorted(Comparator.comparingLong(RoutingTraceService::totalUs).reversed())
+                .limit(10)
+                .forEach(r -> {
+                    Map<String, Object> m = new LinkedHashMap<>();
+                    m.put("fileName", r.getFileName());
+                    m.put("action", r.getAction());
+                    m.put("toPath", r.getToPath());
+                    m.put("totalUs", totalUs(r));
+                    m.put("discoverUs", r.getDiscoverUs());
+                    m.put("decideUs", r.getDecideUs());
+                    m.put("mkdirUs", r.getMkdirUs());
+                    m.put("moveUs", r.getMoveUs());
+                    m.put("persistUs", r.getPersistUs());
+                    slowest.add(m);
+                });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("runId", runId);
+        report.put("files", rows.size());
+        if (!rows.isEmpty()) {
+            report.put("startedAt", rows.get(0).getCreatedAt());
+            report.put("finishedAt", rows.get(rows.size() - 1).getCreatedAt());
+        }
+        report.put("listingUs", discover);
+        report.put("outcomes", outcomes);
+        report.put("stagesUs", stages);
+        report.put("slowest", slowest);
+        return report;
+    }
+
+    private static Map<String, Object> percentiles(List<RoutingLog> rows, Function<RoutingLog, Long> stage) {
+        long[] values = rows.stream().map(stage).filter(v -> v != null).mapToLong(Long::longValue).sorted().toArray();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("count", values.length);
+        if (values.length == 0) {
+            return m;
+        }
+        long sum = 0;
+        for (long v : values) {
+            sum += v;
+        }
+        m.put("p50", percentile(values, 50));
+        m.put("p90", percentile(values, 90));
+        m.put("p99", percentile(values, 99));
+        m.put("max", values[values.length - 1]);
+        m.put("sum", sum);
+        return m;
+    }
+
+    // Nearest-rank percentile over sorted values
+    private static long percentile(long[] sorted, int p) {
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    private static long totalUs(RoutingLog r) {
+        return nz(r.getDiscoverUs()) + nz(r.getDecideUs()) + nz(r.getMkdirUs()) + nz(r.getMoveUs()) + nz(r.getPersistUs());
+    }
+
+    private static long nz(Long v) {
+        return v == null ? 0 : v;
+    }
+
+    private static final class Run {
+        private final String id;
+        private final List<Object[]> persistUs = new ArrayList<>();
+
+        private Run(String id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.rwtool.service;
+
+import com.rwtool.dto.BulkReviewRequestDTO;
+import com.rwtool.dto.BulkReviewResultDTO;
+import com.rwtool.model.SubscriptionRequest;
+import com.rwtool.model.UserGroup;
+import com.rwtool.repository.SubscriptionRequestRepository;
+import com.rwtool.repository.UserGroupRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies many approve/reject decisions in one transaction. Requests are loaded with a
+ * single IN query, and group membership changes are collected per domain so every
+ * affected UserGroup is read and written once instead of once per approved request.
+ * New members of an existing group are batch-inserted into user_group_members: the members
+ * list is an unindexed bag, and Hibernate rewrites every row of a bag when it changes.
+ * A domain without a group gets one, named and scoped like UserGroupService.addUserToGroupByDomain.
+ * Invalid decisions are reported in the per-request result and do not abort the batch.
+ */
+@Service
+public class SubscriptionBulkReviewService {
+
+    private final SubscriptionRequestRepository subscriptionRequestRepository;
+    private final UserGroupRepository userGroupRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.subscriptions.bulk-review.max-size:1000}")
+    private int maxBatchSize;
+
+    public SubscriptionBulkReviewService(SubscriptionRequestRepository subscriptionRequestRepository,
+                                         UserGroupRepository userGroupRepository, JdbcTemplate jdbcTemplate) {
+        this.subscriptionRequestRepository = subscriptionRequestRepository;
+        this.userGroupRepository = userGroupRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Transactional
+    public List<BulkReviewResultDTO> review(BulkReviewRequestDTO bulkRequest) {
+        List<BulkReviewRequestDTO.Decision> decisions = bulkRequest != null && bulkRequest.getDecisions() != null
+                ? bulkRequest.getDecisions()
+                : List.of();
+        if (decisions.isEmpty()) {
+            throw new IllegalArgumentException("No decisions provided");
+        }
+        if (decisions.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Too many decisions in one batch (max " + maxBatchSize + ")");
+        }
+
+        Set<String> ids = decisions.stream()
+                .map(BulkReviewRequestDTO.Decision::getRequestId)
+                .filter(id -> id != null && !id.isBlank())
+                .collect(Collectors.toSet());
+        Map<String, SubscriptionRequest> requestsById = subscriptionRequestRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(SubscriptionRequest::getId, Function.identity()));
+
+        List<BulkReviewResultDTO> results = new ArrayList<>(decisions.size());
+        List<SubscriptionRequest> changed = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        // domain name -> emails to add to that domain's group
+        Map<String, Set<String>> approvedByDomain = new LinkedHashMap<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (BulkReviewRequestDTO.Decision decision : decisions) {
+            String id = decision.getRequestId();
+            String action = decision.getAction() == null ? "" : decision.getAction().trim().toUpperCase();
+            SubscriptionRequest request = id == null ? null : requestsById.get(id);
+
+            if (request == null) {
+                results.add(BulkReviewResultDTO.failed(id, "Subscription request not found"));
+                continue;
+            }
+            if (!seen.add(id)) {
+                results.add(BulkReviewResultDTO.failed(id, "Duplicate decision for this request in the batch"));
+                continue;
+            }
+            if (!"PENDING".equalsIgnoreCase(request.getStatus())) {
+                results.add(BulkReviewResultDTO.failed(id, "Request is not pending (status: " + request.getStatus() + ")"));
+                continue;
+            }
+
+            if ("APPROVE".equals(action)) {
+                request.setStatus("APPROVED");
+                request.setReviewedDate(now);
+                request.setRejectionReason(null);
+                approvedByDomain.computeIfAbsent(request.getDomainName(), k -> new LinkedHashSet<>())
+                        .add(request.getUserEmail());
+            } else if ("REJECT".equals(action)) {
+                request.setStatus("REJECTED");
+                request.setReviewedDate(now);
+                request.setRejectionReason(decision.getRejectionReason());
+            } else {
+                results.add(BulkReviewResultDTO.failed(id, "Invalid action: " + decision.getAction()));
+                continue;
+            }
+            changed.add(request);
+            results.add(BulkReviewResultDTO.ok(id, request.getStatus()));
+        }
+
+        subscriptionRequestRepository.saveAll(changed);
+        addMembersByDomain(approvedByDomain);
+        return results;
+    }
+
+    private void addMembersByDomain(Map<String, Set<String>> approvedByDomain) {
+        if (approvedByDomain.isEmpty()) {
+            return;
+        }
+        Map<String, UserGroup> groupsByDomain = new HashMap<>();
+        for (UserGroup group : userGroupRepository.findByAssociatedDomainIn(approvedByDomain.keySet())) {
+            groupsByDomain.putIfAbsent(group.getAssociatedDomain(), group);
+        }
+
+        List<UserGroup> changedGroups = new ArrayList<>();
+        List<Object[]> newMembers = new ArrayList<>();
+        approvedByDomain.forEach((domain, emails) -> {
+            UserGroup group = groupsByDomain.get(domain);
+            if (group == null) {
+                changedGroups.add(newDomainGroup(domain, emails));
+                return;
+            }
+            // The managed collection is only read; nothing else in this transaction changes it
+            Set<String> newEmails = new LinkedHashSet<>(emails);
+            newEmails.removeAll(new HashSet<>(group.getMembers()));
+            if (!newEmails.isEmpty()) {
+                newEmails.forEach(email -> newMembers.add(new Object[]{group.getId(), email}));
+                group.setUpdatedDate(LocalDateTime.now());
+                changedGroups.add(group);
+            }
+        });
+        userGroupRepository.saveAll(changedGroups);
+        if (!newMembers.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO user_group_members (group_id, user_email) VALUES (?, ?)", newMembers);
+        }
+    }
+
+    private static UserGroup newDomainGroup(String domain, Set<String> emails) {
+        UserGroup group = new UserGroup();
+        group.setAdGroupName(domain + " Users");
+        group.setAssociatedDomain(domain);
+        group.getFolderAccess().add(domain);
+        group.getMembers().addAll(emails);
+        return group;
+    }
+}
@@ -0,0 +1,83 @@
+package com.rwtool.service;
+
+import com.rwtool.dto.CursorPageResponse;
+import com.rwtool.model.SubscriptionRequest;
+import com.rwtool.repository.SubscriptionRequestRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Keyset-paginated listing of subscription requests (newest first).
+ * The cursor is an opaque token carrying the (requestedDate, id) of the last row returned.
+ */
+@Service
+public class SubscriptionRequestQueryService {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private final SubscriptionRequestRepository subscriptionRequestRepository;
+
+    public SubscriptionRequestQueryService(SubscriptionRequestRepository subscriptionRequestRepository) {
+        this.subscriptionRequestRepository = subscriptionRequestRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageResponse<SubscriptionRequest> page(String status, String domainId, String userEmail,
+                                                        String cursor, Integer limit) {
+        int size = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+
+        LocalDateTime afterDate = null;
+        String afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] keys = decodeCursor(cursor);
+            afterDate = LocalDateTime.parse(keys[0]);
+            afterId = keys[1];
+        }
+
+        // Fetch one extra row to know whether another page exists without a COUNT query
+        List<SubscriptionRequest> rows = subscriptionRequestRepository.findPage(
+                blankToNull(status) != null ? status.trim().toUpperCase() : null,
+                blankToNull(domainId),
+                blankToNull(userEmail),
+                afterDate, afterId, size + 1);
+
+        boolean hasMore = rows.size() > size;
+        List<SubscriptionRequest> items = hasMore ? rows.subList(0, size) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            SubscriptionRequest last = items.get(items.size() - 1);
+            nextCursor = encodeCursor(last.getRequestedDate(), last.getId());
+        }
+        return new CursorPageResponse<>(items, nextCursor, hasMore, size);
+    }
+
+    private static String encodeCursor(LocalDateTime requestedDate, String id) {
+        String raw = requestedDate.toString() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", 2);
+            if (parts.length != 2 || parts[1].isEmpty()) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            LocalDateTime.parse(parts[0]);
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
@@ -0,0 +1,136 @@
+package com.rwtool.service;
+
+import com.rwtool.repository.SubscriptionRequestRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admin dashboard statistics for subscription requests.
+ * By default every call runs a single GROUP BY status query. With
+ * app.subscriptions.stats.in-memory=true the counts are kept in memory, seeded from
+ * that query, updated on every committed status change and re-synced periodically.
+ */
+@Service
+public class SubscriptionStatsService {
+
+    private final SubscriptionRequestRepository subscriptionRequestRepository;
+    private final ClusterEventService clusterEventService;
+
+    @Value("${app.subscriptions.stats.in-memory:false}")
+    private boolean inMemory;
+
+    @Value("${app.subscriptions.stats.resync-seconds:300}")
+    private long resyncSeconds;
+
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private volatile Instant loadedAt;
+
+    public SubscriptionStatsService(SubscriptionRequestRepository subscriptionRequestRepository,
+                                    ClusterEventService clusterEventService) {
+        this.subscriptionRequestRepository = subscriptionRequestRepository;
+        this.clusterEventService = clusterEventService;
+    }
+
+    // A change committed on another node makes our counters stale; re-read them on next access
+    @PostConstruct
+    public void subscribeToClusterEvents() {
+        clusterEventService.subscribe(ClusterEventService.TOPIC_SUBSCRIPTION_STATS, key -> loadedAt = null);
+    }
+
+    public Map<String, Object> getDashboardStats() {
+        Map<String, Long> counts = inMemory ? inMemoryCounts() : queryCounts();
+
+        long pendingCount = counts.getOrDefault("PENDING", 0L);
+        long approvedCount = counts.getOrDefault("APPROVED", 0L);
+        long rejectedCount = counts.getOrDefault("REJECTED", 0L);
+        long totalRequests = counts.values().stream().mapToLong(Long::longValue).sum();
+
+        double approvalRate = (approvedCount + rejectedCount) > 0
+                ? (approvedCount * 100.0) / (approvedCount + rejectedCount)
+                : 0.0;
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalRequests", totalRequests);
+        stats.put("pendingRequests", pendingCount);
+        stats.put("approvedRequests", approvedCount);
+        stats.put("rejectedRequests", rejectedCount);
+        stats.put("approvalRate", Math.round(approvalRate * 10) / 10.0); // Round to 1 decimal
+        return stats;
+    }
+
+    /**
+     * Record a status change; from is null for a new request, to is null for a deleted one.
+     * Applied after the surrounding transaction commits so rolled-back changes are not counted.
+     */
+    public void recordTransition(String from, String to) {
+        if (!inMemory) {
+            return;
+        }
+        // Called per entity: other nodes hear about the transaction once, after it commits
+        clusterEventService.publishAfterCommit(ClusterEventService.TOPIC_SUBSCRIPTION_STATS, null);
+        if (loadedAt == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(from, to);
+                }
+            });
+        } else {
+            apply(from, to);
+        }
+    }
+
+    public void refresh() {
+        Map<String, Long> fresh = queryCounts();
+        synchronized (counters) {
+            counters.clear();
+            fresh.forEach((status, count) -> counters.put(status, new AtomicLong(count)));
+            loadedAt = Instant.now();
+        }
+    }
+
+    private Map<String, Long> inMemoryCounts() {
+        Instant loaded = loadedAt;
+        if (loaded == null || Instant.now().isAfter(loaded.plusSeconds(resyncSeconds))) {
+            refresh();
+        }
+        Map<String, Long> snapshot = new HashMap<>();
+        counters.forEach((status, count) -> snapshot.put(status, count.get()));
+        return snapshot;
+    }
+
+    private Map<String, Long> queryCounts() {
+        List<Object[]> rows = subscriptionRequestRepository.countGroupedByStatus();
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : rows) {
+            if (row[0] != null) {
+                counts.put((String) row[0], ((Number) row[1]).longValue());
+            }
+        }
+        return counts;
+    }
+
+    private void apply(String from, String to) {
+        synchronized (counters) {
+            if (from != null) {
+                counters.computeIfAbsent(from.toUpperCase(), k -> new AtomicLong()).decrementAndGet();
+            }
+            if (to != null) {
+                counters.computeIfAbsent(to.toUpperCase(), k -> new AtomicLong()).incrementAndGet();
+            }
+        }
+    }
+}
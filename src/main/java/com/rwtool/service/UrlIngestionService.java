@@ -0,0 +1,455 @@
+package com.rwtool.service;
+
+import com.rwtool.config.IoThreads;
+import com.rwtool.dto.UrlIngestionJobDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Downloads files from a URL into baseDir/incoming without holding a request thread.
+ * One shared HttpClient (pooled connections, connect timeout) streams each body straight
+ * into baseDir/.staging/"&lt;name&gt;.part", which is renamed into incoming only once complete. At most
+ * app.ingest.url.max-concurrent downloads run at a time; the rest wait in order.
+ * A failed attempt (I/O error, timeout, 429 or 5xx) is retried with a Range request that
+ * resumes from the bytes already written. A watchdog cancels an attempt whose body stalls for
+ * app.ingest.url.idle-timeout-ms or that runs past max-duration-seconds; the cancelled attempt's
+ * file handle is closed before the retry reopens the .part file. Finished jobs are kept for
+ * app.ingest.url.retention-minutes.
+ */
+@Service
+public class UrlIngestionService {
+
+    private static final Logger log = LoggerFactory.getLogger(UrlIngestionService.class);
+
+    private final HttpClient httpClient;
+    private final Path incomingDir;
+    private final Path stagingDir;
+    private final Semaphore permits;
+    private final Duration requestTimeout;
+    private final Duration idleTimeout;
+    private final Duration maxDuration;
+    private final Duration retention;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final Map<String, UrlIngestionJobDTO> jobs = new ConcurrentHashMap<>();
+    // In-flight attempt per job id, checked by the watchdog
+    private final Map<String, Transfer> active = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "url-ingest-dispatch");
+        t.setDaemon(true);
+        return t;
+    });
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "url-ingest-watchdog");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @Autowired
+    public UrlIngestionService(@Value("${app.storage.local.baseDir:}") String localBaseDir,
+                               @Value("${app.ingest.url.connect-timeout-ms:10000}") long connectTimeoutMs,
+                               @Value("${app.ingest.url.request-timeout-ms:30000}") long requestTimeoutMs,
+                               @Value("${app.ingest.url.idle-timeout-ms:60000}") long idleTimeoutMs,
+                               @Value("${app.ingest.url.max-duration-seconds:1800}") long maxDurationSeconds,
+                               @Value("${app.ingest.url.retention-minutes:60}") long retentionMinutes,
+                               @Value("${app.ingest.url.max-concurrent:4}") int maxConcurrent,
+                               @Value("${app.ingest.url.max-attempts:5}") int maxAttempts,
+                               @Value("${app.ingest.url.retry-backoff-ms:2000}") long retryBackoffMs,
+                               IoThreads ioThreads) {
+        this(httpClient(connectTimeoutMs, ioThreads),
+                localBaseDir == null || localBaseDir.isBlank() ? null : Paths.get(localBaseDir).resolve(DirectoryWatchService.INCOMING),
+                localBaseDir == null || localBaseDir.isBlank() ? null : Paths.get(localBaseDir).resolve(DirectoryWatchService.STAGING),
+                Duration.ofMillis(requestTimeoutMs), Duration.ofMillis(idleTimeoutMs),
+                Duration.ofSeconds(maxDurationSeconds), Duration.ofMinutes(retentionMinutes),
+                maxConcurrent, maxAttempts, retryBackoffMs);
+    }
+
+    // Body handlers write to disk on the client's executor, so give it I/O threads when they are virtual
+    private static HttpClient httpClient(long connectTimeoutMs, IoThreads ioThreads) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL);
+        if (ioThreads.isVirtual()) {
+            builder.executor(Executors.newCachedThreadPool(ioThreads.factory("url-ingest-")));
+        }
+        return builder.build();
+    }
+
+    // Lets the service run against a local HTTP stub and a temp directory
+    UrlIngestionService(HttpClient httpClient, Path incomingDir, Path stagingDir, Duration requestTimeout,
+                        Duration idleTimeout, Duration maxDuration, Duration retention, int maxConcurrent,
+                        int maxAttempts, long retryBackoffMs) {
+        this.httpClient = httpClient;
+        this.incomingDir = incomingDir;
+        this.stagingDir = stagingDir;
+        this.requestTimeout = requestTimeout;
+        this.idleTimeout = idleTimeout;
+        this.maxDuration = maxDuration;
+        this.retention = retention;
+        this.permits = new Semaphore(Math.max(1, maxConcurrent), true);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMs = retryBackoffMs;
+        long tick = Math.max(50, Math.min(1000, idleTimeout.toMillis() / 4));
+        watchdog.scheduleWithFixedDelay(this::checkActive, tick, tick, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        dispatcher.shutdownNow();
+        watchdog.shutdownNow();
+        active.values().forEach(transfer -> transfer.abort("Shutting down"));
+    }
+
+    /** Queue a download; returns immediately with the job to poll. */
+    public UrlIngestionJobDTO submit(String url, String fileName) throws IOException {
+        if (incomingDir == null) {
+            throw new IllegalStateException("app.storage.local.baseDir is not configured");
+        }
+        URI uri;
+        try {
+            uri = URI.create(url == null ? "" : url.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid URL: " + url);
+        }
+        if (!"http".equalsIgnoreCase(uri.getScheme()) && !"https".equalsIgnoreCase(uri.getScheme())) {
+            throw new IllegalArgumentException("Only http and https URLs are supported");
+        }
+        String name = fileName != null && !fileName.isBlank() ? fileName : lastSegment(uri);
+        Path target = incomingDir.resolve(name).normalize();
+        if (name.isBlank() || !incomingDir.normalize().equals(target.getParent())) {
+            throw new IllegalArgumentException("Invalid file name: " + name);
+        }
+        if (Files.exists(target)) {
+            throw new IllegalArgumentException("File already exists in incoming: " + name);
+        }
+        Files.createDirectories(incomingDir);
+        Files.createDirectories(stagingDir);
+
+        pruneFinishedJobs();
+        UrlIngestionJobDTO job = new UrlIngestionJobDTO(UUID.randomUUID().toString(), uri.toString(), name);
+        jobs.put(job.getJobId(), job);
+        dispatcher.execute(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                fail(job, "Cancelled");
+                return;
+            }
+            job.setState("DOWNLOADING");
+            attempt(job, uri, target, 1);
+        });
+        return job;
+    }
+
+    public Optional<UrlIngestionJobDTO> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    private void attempt(UrlIngestionJobDTO job, URI uri, Path target, int attempt) {
+        job.setAttempts(attempt);
+        Path part = partFile(target);
+        long offset = sizeOrZero(part);
+        job.setBytesDone(offset);
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(requestTimeout).GET();
+        if (offset > 0) {
+            request.header("Range", "bytes=" + offset + "-");
+        }
+        Transfer transfer = new Transfer(job, part);
+        active.put(job.getJobId(), transfer);
+        transfer.exchange = httpClient.sendAsync(request.build(), responseInfo -> bodyHandler(transfer, responseInfo));
+        transfer.exchange.whenComplete((response, error) -> {
+            // Once closed, nothing from this attempt can write to the .part the retry resumes from
+            transfer.close();
+            active.remove(job.getJobId(), transfer);
+            int status = response == null ? 0 : response.statusCode();
+            if (error == null && (status == 200 || status == 206)) {
+                complete(job, part, target);
+            } else if (status == 416) {
+                // our partial file no longer matches the resource: start over
+                deleteQuietly(part);
+                retryOrFail(job, uri, target, attempt, "Range not satisfiable");
+            } else if (error != null || status == 429 || status >= 500) {
+                String reason = transfer.abortReason != null ? transfer.abortReason
+                        : error != null ? describe(error) : "HTTP " + status;
+                retryOrFail(job, uri, target, attempt, reason);
+            } else {
+                deleteQuietly(part);
+                fail(job, "HTTP " + status);
+            }
+        });
+    }
+
+    private HttpResponse.BodySubscriber<Path> bodyHandler(Transfer transfer, HttpResponse.ResponseInfo info) {
+        if (info.statusCode() == 206) {
+            info.headers().firstValue("Content-Range")
+                    .map(UrlIngestionService::totalFromContentRange)
+                    .ifPresent(transfer.job::setBytesTotal);
+            return transfer.writing(StandardOpenOption.APPEND);
+        }
+        if (info.statusCode() == 200) {
+            // server ignored the Range header (or this is the first attempt): rewrite from the start
+            transfer.job.setBytesTotal(info.headers().firstValueAsLong("Content-Length").orElse(-1));
+            return transfer.writing(StandardOpenOption.TRUNCATE_EXISTING);
+        }
+        return HttpResponse.BodySubscribers.replacing(null);
+    }
+
+    // Cancel attempts whose body has stalled or that have run too long; they are retried like any failure
+    private void checkActive() {
+        long now = System.nanoTime();
+        for (Transfer transfer : active.values()) {
+            if (now - transfer.startedNanos > maxDuration.toNanos()) {
+                transfer.abort("Download exceeded " + maxDuration.toSeconds() + " s");
+            } else if (transfer.isReceiving() && now - transfer.lastProgressNanos > idleTimeout.toNanos()) {
+                transfer.abort("No data received for " + idleTimeout.toMillis() + " ms");
+            }
+        }
+    }
+
+    private void retryOrFail(UrlIngestionJobDTO job, URI uri, Path target, int attempt, String reason) {
+        if (attempt >= maxAttempts) {
+            deleteQuietly(partFile(target));
+            fail(job, reason + " after " + attempt + " attempt(s)");
+            return;
+        }
+        log.info("Download of {} failed ({}), resuming (attempt {})", uri, reason, attempt + 1);
+        job.setMessage(reason);
+        CompletableFuture.delayedExecutor(retryBackoffMs * attempt, TimeUnit.MILLISECONDS)
+                .execute(() -> attempt(job, uri, target, attempt + 1));
+    }
+
+    private void complete(UrlIngestionJobDTO job, Path part, Path target) {
+        try {
+            Files.move(part, target, StandardCopyOption.ATOMIC_MOVE);
+            job.setBytesDone(Files.size(target));
+            job.setMessage(null);
+            job.setState("DONE");
+            job.setFinishedAt(Instant.now());
+            permits.release();
+        } catch (IOException e) {
+            fail(job, "Could not move download into incoming: " + e.getMessage());
+        }
+    }
+
+    private void fail(UrlIngestionJobDTO job, String message) {
+        job.setState("FAILED");
+        job.setMessage(message);
+        job.setFinishedAt(Instant.now());
+        permits.release();
+        log.warn("Download of {} failed: {}", job.getUrl(), message);
+    }
+
+    private void pruneFinishedJobs() {
+        Instant cutoff = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    // Outside incoming so the watcher and the routing drain never see a half-written download
+    private Path partFile(Path target) {
+        return stagingDir.resolve(target.getFileName() + ".part");
+    }
+
+    private static long sizeOrZero(Path file) {
+        try {
+            return Files.exists(file) ? Files.size(file) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // nothing useful to do
+        }
+    }
+
+    private static String lastSegment(URI uri) {
+        String path = uri.getPath() == null ? "" : uri.getPath();
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    // "bytes 100-999/1000" -> 1000 ("*" when unknown -> -1)
+    private static long totalFromContentRange(String value) {
+        int slash = value.lastIndexOf('/');
+        try {
+            return slash < 0 ? -1 : Long.parseLong(value.substring(slash + 1).trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String describe(Throwable error) {
+        Throwable cause = error.getCause() != null ? error.getCause() : error;
+        return cause.getClass().getSimpleName() + (cause.getMessage() != null ? ": " + cause.getMessage() : "");
+    }
+
+    /**
+     * One attempt: its exchange and the subscriber writing the body into the .part file.
+     * Writes, close() and abort() share a lock, so once close() returns no late chunk from this
+     * attempt can reach the file.
+     */
+    private static final class Transfer implements HttpResponse.BodySubscriber<Path> {
+        private final UrlIngestionJobDTO job;
+        private final Path part;
+        private final long startedNanos = System.nanoTime();
+        private final CompletableFuture<Path> body = new CompletableFuture<>();
+        private volatile long lastProgressNanos = startedNanos;
+        private volatile CompletableFuture<HttpResponse<Path>> exchange;
+        private volatile String abortReason;
+        private StandardOpenOption mode;
+        private Flow.Subscription subscription;
+        private FileChannel channel;
+        private boolean closed;
+
+        Transfer(UrlIngestionJobDTO job, Path part) {
+            this.job = job;
+            this.part = part;
+        }
+
+        synchronized Transfer writing(StandardOpenOption mode) {
+            this.mode = mode;
+            return this;
+        }
+
+        synchronized boolean isReceiving() {
+            return subscription != null && !closed;
+        }
+
+        @Override
+        public synchronized void onSubscribe(Flow.Subscription subscription) {
+            if (closed) {
+                subscription.cancel();
+                return;
+            }
+            try {
+                channel = FileChannel.open(part, StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode);
+                job.setBytesDone(channel.size());
+            } catch (IOException e) {
+                subscription.cancel();
+                closed = true;
+                body.completeExceptionally(e);
+                return;
+            }
+            this.subscription = subscription;
+            lastProgressNanos = System.nanoTime();
+            subscription.request(1);
+        }
+
+        @Override
+        public synchronized void onNext(List<ByteBuffer> items) {
+            if (closed) {
+                return;
+            }
+            try {
+                for (ByteBuffer item : items) {
+                    while (item.hasRemaining()) {
+                        channel.write(item);
+                    }
+                }
+                job.setBytesDone(channel.size());
+            } catch (IOException e) {
+                subscription.cancel();
+                closeChannel();
+                body.completeExceptionally(e);
+                return;
+            }
+            lastProgressNanos = System.nanoTime();
+            subscription.request(1);
+        }
+
+        @Override
+        public synchronized void onError(Throwable throwable) {
+            closeChannel();
+            body.completeExceptionally(throwable);
+        }
+
+        @Override
+        public synchronized void onComplete() {
+            if (closed) {
+                return;
+            }
+            try {
+                closed = true;
+                channel.close();
+                body.complete(part);
+            } catch (IOException e) {
+                body.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public CompletionStage<Path> getBody() {
+            return body;
+        }
+
+        /** Stop the attempt: cancel the body subscription and the exchange, and release the file. */
+        void abort(String reason) {
+            synchronized (this) {
+                if (closed && exchange != null && exchange.isDone()) {
+                    return;
+                }
+                abortReason = reason;
+                if (subscription != null && !closed) {
+                    subscription.cancel();
+                }
+                closeChannel();
+                body.completeExceptionally(new CancellationException(reason));
+            }
+            CompletableFuture<HttpResponse<Path>> inFlight = exchange;
+            if (inFlight != null) {
+                // Before the body starts only cancelling the exchange ends it
+                inFlight.cancel(true);
+            }
+        }
+
+        synchronized void close() {
+            closeChannel();
+        }
+
+        private void closeChannel() {
+            closed = true;
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                    // nothing useful to do
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.rwtool.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Short-lived cache of {@link UserDetails} used by the JWT filter so that an
+ * authenticated request does not hit the users table every time.
+ * Entries expire after a TTL and the cache is bounded in size; callers that
+ * change a user's role, password or enabled flag must call {@link #evict(String)},
+ * which also tells the other nodes to drop their copy.
+ */
+@Service
+public class UserDetailsCache {
+
+    @Value("${app.auth.user-cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${app.auth.user-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final ClusterEventService clusterEventService;
+    private final Counter hits;
+    private final Counter misses;
+
+    public UserDetailsCache(ClusterEventService clusterEventService, MeterRegistry meterRegistry) {
+        this.clusterEventService = clusterEventService;
+        this.hits = meterRegistry.counter("rwtool.cache.requests", "cache", "users", "result", "hit");
+        this.misses = meterRegistry.counter("rwtool.cache.requests", "cache", "users", "result", "miss");
+    }
+
+    @PostConstruct
+    public void subscribeToClusterEvents() {
+        clusterEventService.subscribe(ClusterEventService.TOPIC_USER, key -> {
+            if (ClusterEventService.ALL.equals(key)) {
+                entries.clear();
+            } else {
+                entries.remove(key);
+            }
+        });
+    }
+
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        String key = normalize(username);
+        Entry cached = entries.get(key);
+        if (cached != null && Instant.now().isBefore(cached.expiresAt)) {
+            hits.increment();
+            return cached.userDetails;
+        }
+        misses.increment();
+        UserDetails loaded = loader.apply(username);
+        if (ttlSeconds > 0 && maxSize > 0) {
+            if (entries.size() >= maxSize) {
+                shrink();
+            }
+            entries.put(key, new Entry(loaded, Instant.now().plusSeconds(ttlSeconds)));
+        }
+        return loaded;
+    }
+
+    public void evict(String username) {
+        if (username != null) {
+            entries.remove(normalize(username));
+            clusterEventService.publish(ClusterEventService.TOPIC_USER, normalize(username));
+        }
+    }
+
+    public void evictAll() {
+        entries.clear();
+        clusterEventService.publish(ClusterEventService.TOPIC_USER, ClusterEventService.ALL);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Drop expired entries first; if still full, drop the ones closest to expiry
+    private void shrink() {
+        Instant now = Instant.now();
+        entries.values().removeIf(e -> !now.isBefore(e.expiresAt));
+        int excess = entries.size() - maxSize + 1;
+        if (excess > 0) {
+            entries.entrySet().stream()
+                    .sorted(Comparator.comparing(e -> e.getValue().expiresAt))
+                    .limit(Math.max(excess, maxSize / 10))
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(entries::remove);
+        }
+    }
+
+    private static String normalize(String username) {
+        return username.trim().toLowerCase();
+    }
+
+    private record Entry(UserDetails userDetails, Instant expiresAt) {}
+}
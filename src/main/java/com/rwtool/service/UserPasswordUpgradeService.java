@@ -0,0 +1,57 @@
+package com.rwtool.service;
+
+import com.rwtool.model.User;
+import com.rwtool.repository.UserRepository;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Re-saves a stored hash that uses a lower BCrypt cost than configured, once the user has
+ * logged in successfully. The authentication provider calls {@link #updatePassword}; the
+ * login endpoint, whose AuthService checks the password itself, calls {@link #upgradeIfNeeded}.
+ */
+@Service
+public class UserPasswordUpgradeService implements UserDetailsPasswordService {
+
+    private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final PasswordEncoder passwordEncoder;
+
+    // Lazy: the encoder is defined in SecurityConfig, which itself depends on this service
+    public UserPasswordUpgradeService(UserRepository userRepository, UserDetailsCache userDetailsCache,
+                                      @Lazy PasswordEncoder passwordEncoder) {
+        this.userRepository = userRepository;
+        this.userDetailsCache = userDetailsCache;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    /** Call only after rawPassword has been verified for this user. */
+    @Transactional
+    public void upgradeIfNeeded(String email, String rawPassword) {
+        userRepository.findByEmail(email)
+                .filter(user -> passwordEncoder.upgradeEncoding(user.getPassword()))
+                .ifPresent(user -> {
+                    user.setPassword(passwordEncoder.encode(rawPassword));
+                    userRepository.save(user);
+                    userDetailsCache.evict(user.getEmail());
+                });
+    }
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newEncodedPassword) {
+        User user = userRepository.findByEmail(userDetails.getUsername()).orElse(null);
+        if (user != null) {
+            user.setPassword(newEncodedPassword);
+            userRepository.save(user);
+            userDetailsCache.evict(user.getEmail());
+        }
+        return org.springframework.security.core.userdetails.User.withUserDetails(userDetails)
+                .password(newEncodedPassword)
+                .build();
+    }
+}
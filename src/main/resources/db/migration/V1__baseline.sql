@@ -0,0 +1,81 @@
+-- Schema as Hibernate created it with ddl-auto=update before Flyway took over.
+-- Existing databases are baselined at version 1 (spring.flyway.baseline-on-migrate), so this
+-- script only runs against an empty database. Everything added since then belongs in V2 and
+-- later, which also run on baselined databases.
+
+CREATE TABLE users (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    full_name     VARCHAR(255) NOT NULL,
+    email         VARCHAR(255) NOT NULL,
+    phone_number  VARCHAR(255) NOT NULL,
+    domain        VARCHAR(255),
+    password_hash VARCHAR(255) NOT NULL,
+    role          VARCHAR(255) NOT NULL CHECK (role IN ('USER', 'ADMIN', 'OPS')),
+    is_active     BOOLEAN      NOT NULL,
+    enabled       BOOLEAN      NOT NULL,
+    created_at    TIMESTAMP(6) NOT NULL,
+    updated_at    TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE domains (
+    id           VARCHAR(255) PRIMARY KEY,
+    name         VARCHAR(255) NOT NULL,
+    description  VARCHAR(500),
+    created_date TIMESTAMP(6),
+    CONSTRAINT uk_domains_name UNIQUE (name)
+);
+
+CREATE TABLE user_groups (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    ad_group_name     VARCHAR(255) NOT NULL,
+    associated_domain VARCHAR(255),
+    created_date      TIMESTAMP(6),
+    updated_date      TIMESTAMP(6),
+    CONSTRAINT uk_user_groups_ad_group_name UNIQUE (ad_group_name)
+);
+
+CREATE TABLE user_group_folders (
+    group_id    BIGINT NOT NULL REFERENCES user_groups (id),
+    folder_path VARCHAR(255)
+);
+
+CREATE TABLE user_group_members (
+    group_id   BIGINT NOT NULL REFERENCES user_groups (id),
+    user_email VARCHAR(255)
+);
+
+CREATE TABLE subscription_requests (
+    id               VARCHAR(255) PRIMARY KEY,
+    user_name        VARCHAR(255) NOT NULL,
+    user_email       VARCHAR(255) NOT NULL,
+    domain_id        VARCHAR(255) NOT NULL,
+    domain_name      VARCHAR(255) NOT NULL,
+    request_reason   VARCHAR(1000),
+    status           VARCHAR(255) NOT NULL,
+    requested_date   TIMESTAMP(6),
+    reviewed_date    TIMESTAMP(6),
+    rejection_reason VARCHAR(1000),
+    user_department  VARCHAR(255),
+    user_role        VARCHAR(255)
+);
+
+CREATE TABLE path_configs (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    prefix      VARCHAR(100) NOT NULL,
+    source_path VARCHAR(512) NOT NULL,
+    output_path VARCHAR(512) NOT NULL,
+    status      VARCHAR(16)  NOT NULL,
+    created_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_path_configs_prefix UNIQUE (prefix)
+);
+
+CREATE TABLE routing_logs (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    file_name   VARCHAR(255) NOT NULL,
+    action      VARCHAR(255) NOT NULL,
+    from_path   VARCHAR(255) NOT NULL,
+    to_path     VARCHAR(255) NOT NULL,
+    message     VARCHAR(1000),
+    created_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
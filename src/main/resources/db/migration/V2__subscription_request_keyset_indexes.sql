@@ -0,0 +1,7 @@
+-- Composite indexes for the keyset listing of subscription requests:
+-- filter columns first, then (requested_date, id).
+
+CREATE INDEX IF NOT EXISTS idx_sub_req_requested_id ON subscription_requests (requested_date, id);
+CREATE INDEX IF NOT EXISTS idx_sub_req_status_requested_id ON subscription_requests (status, requested_date, id);
+CREATE INDEX IF NOT EXISTS idx_sub_req_user_requested_id ON subscription_requests (user_email, requested_date, id);
+CREATE INDEX IF NOT EXISTS idx_sub_req_domain_status_requested_id ON subscription_requests (domain_id, status, requested_date, id);
@@ -0,0 +1,13 @@
+-- Per-user favorite reports. IF NOT EXISTS: a database that ran with ddl-auto=update after
+-- favorites were added already has the table when it is baselined.
+
+CREATE TABLE IF NOT EXISTS favorites (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id    VARCHAR(255) NOT NULL,
+    folder     VARCHAR(255) NOT NULL,
+    file_name  VARCHAR(512) NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_favorites_user_folder_file UNIQUE (user_id, folder, file_name)
+);
+
+CREATE INDEX IF NOT EXISTS idx_favorites_user ON favorites (user_id);
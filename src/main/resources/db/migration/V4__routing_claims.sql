@@ -0,0 +1,8 @@
+-- Time-limited per-file claims so that only one node routes an incoming file.
+
+CREATE TABLE IF NOT EXISTS routing_claims (
+    file_name  VARCHAR(512) PRIMARY KEY,
+    claimed_by VARCHAR(128) NOT NULL,
+    claimed_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,13 @@
+-- SHA-256 of incoming files and routed reports, for duplicate detection.
+
+CREATE TABLE IF NOT EXISTS content_hashes (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    folder     VARCHAR(512) NOT NULL,
+    file_name  VARCHAR(512) NOT NULL,
+    sha256     VARCHAR(64)  NOT NULL,
+    size       BIGINT       NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_content_hashes_folder_file UNIQUE (folder, file_name)
+);
+
+CREATE INDEX IF NOT EXISTS idx_content_hashes_sha_folder ON content_hashes (sha256, folder);
@@ -0,0 +1,9 @@
+-- GIN trigram indexes so "lower(x) like '%term%'" path config searches use an index.
+-- CREATE EXTENSION needs a role allowed to create pg_trgm (or a DBA creates it beforehand);
+-- PathConfigSearchIndex falls back to its in-memory index where these indexes are missing.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_path_configs_prefix_trgm ON path_configs USING gin (lower(prefix) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_path_configs_source_trgm ON path_configs USING gin (lower(source_path) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_path_configs_output_trgm ON path_configs USING gin (lower(output_path) gin_trgm_ops);
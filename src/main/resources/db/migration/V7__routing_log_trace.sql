@@ -0,0 +1,10 @@
+-- Routing run id and per-stage timings on routing log rows (null for untraced rows).
+
+ALTER TABLE routing_logs ADD COLUMN IF NOT EXISTS run_id VARCHAR(36);
+ALTER TABLE routing_logs ADD COLUMN IF NOT EXISTS discover_us BIGINT;
+ALTER TABLE routing_logs ADD COLUMN IF NOT EXISTS decide_us BIGINT;
+ALTER TABLE routing_logs ADD COLUMN IF NOT EXISTS mkdir_us BIGINT;
+ALTER TABLE routing_logs ADD COLUMN IF NOT EXISTS move_us BIGINT;
+ALTER TABLE routing_logs ADD COLUMN IF NOT EXISTS persist_us BIGINT;
+
+CREATE INDEX IF NOT EXISTS idx_routing_logs_run_id ON routing_logs (run_id);
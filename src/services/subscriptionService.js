@@ -25,6 +25,19 @@ const subscriptionService = {
         }
     },
 
+    // Get one keyset page of requests (admin/user); pass the returned nextCursor to fetch the next page
+    getRequestsPage: async ({ status, domainId, userEmail, cursor, limit } = {}) => {
+        try {
+            const response = await axios.get(`${API_BASE_URL}/subscriptions/page`, {
+                params: { status, domainId, userEmail, cursor, limit }
+            });
+            return response.data;
+        } catch (error) {
+            console.error('Error fetching subscription requests page:', error);
+            throw error;
+        }
+    },
+
     // Get requests by user email (user)
     getRequestsByUser: async (email) => {
         try {
@@ -98,6 +111,20 @@ const subscriptionService = {
         }
     },
 
+    // Approve/reject many requests at once (admin); decisions: [{ requestId, action, rejectionReason }]
+    bulkReview: async (decisions) => {
+        try {
+            const response = await axios.post(`${API_BASE_URL}/subscriptions/bulk-review`, { decisions });
+            return response.data;
+        } catch (error) {
+            console.error('Error reviewing requests in bulk:', error);
+            if (error.response && error.response.data) {
+                throw new Error(error.response.data);
+            }
+            throw error;
+        }
+    },
+
     // Cancel request (user)
     cancelRequest: async (requestId, userEmail) => {
         try {
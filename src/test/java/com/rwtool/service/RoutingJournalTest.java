@@ -0,0 +1,140 @@
+package com.rwtool.service;
+
+import com.rwtool.model.RoutingLog;
+import com.rwtool.repository.RoutingLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class RoutingJournalTest {
+
+    @TempDir
+    Path baseDir;
+
+    private Path journalFile;
+    private RoutingLogRepository repository;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        journalFile = baseDir.resolve("node").resolve("journal.log");
+        repository = mock(RoutingLogRepository.class);
+        Files.createDirectories(baseDir.resolve("incoming"));
+        Files.createDirectories(baseDir.resolve("reports").resolve("Finance"));
+    }
+
+    @Test
+    void replayReconcilesOnlyUncommittedIntents() throws IOException {
+        RoutingJournal journal = open(4096);
+        // moved before the crash, log row never written
+        Path movedTarget = report("Finance__moved.pdf");
+        journal.begin("Finance__moved.pdf", incoming("Finance__moved.pdf").toString(), movedTarget.toString());
+        Files.writeString(movedTarget, "x");
+        // crashed before the move: file is still in incoming
+        Path notMoved = incoming("Finance__pending.pdf");
+        Files.writeString(notMoved, "x");
+        journal.begin("Finance__pending.pdf", notMoved.toString(), report("Finance__pending.pdf").toString());
+        // finished normally
+        long done = journal.begin("Finance__done.pdf", incoming("Finance__done.pdf").toString(),
+                report("Finance__done.pdf").toString());
+        journal.commit(done);
+        assertEquals(2, journal.pendingCount());
+        journal.close();
+
+        RoutingJournal reopened = open(4096);
+
+        ArgumentCaptor<RoutingLog> saved = ArgumentCaptor.forClass(RoutingLog.class);
+        verify(repository, times(1)).save(saved.capture());
+        assertEquals("Finance__moved.pdf", saved.getValue().getFileName());
+        assertEquals("MOVED", saved.getValue().getAction());
+        assertEquals(movedTarget.toString(), saved.getValue().getToPath());
+        assertEquals(0, reopened.pendingCount());
+        reopened.close();
+
+        // Recovery compacted the journal, so a second restart has nothing to do
+        open(4096).close();
+        verify(repository, times(1)).save(any());
+    }
+
+    @Test
+    void tornTailIsIgnored() throws IOException {
+        RoutingJournal journal = open(4096);
+        Path target = report("Risk__a.pdf");
+        Files.createDirectories(target.getParent());
+        String from = incoming("Risk__a.pdf").toString();
+        long id = journal.begin("Risk__a.pdf", from, target.toString());
+        Files.writeString(target, "x");
+        journal.close();
+
+        // A COMMIT for the intent whose CRC never made it to disk
+        int payload = String.join("\u0000", "Risk__a.pdf", from, target.toString())
+                .getBytes(StandardCharsets.UTF_8).length;
+        int tail = 14 + payload + 4;
+        try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+            ByteBuffer torn = ByteBuffer.allocate(14);
+            torn.put((byte) 0x52).put((byte) 'C').putLong(id).putInt(0).flip();
+            channel.write(torn, tail);
+        }
+
+        RoutingJournal reopened = open(4096);
+
+        ArgumentCaptor<RoutingLog> saved = ArgumentCaptor.forClass(RoutingLog.class);
+        verify(repository).save(saved.capture());
+        assertEquals("Risk__a.pdf", saved.getValue().getFileName());
+        assertEquals("MOVED", saved.getValue().getAction());
+
+        // Appends continue after the torn record was dropped
+        long next = reopened.begin("Risk__b.pdf", "from", "to");
+        reopened.commit(next);
+        assertEquals(0, reopened.pendingCount());
+        reopened.close();
+    }
+
+    @Test
+    void compactsWhenTheMappedRegionFills() throws IOException {
+        RoutingJournal journal = open(256);
+        long pending = journal.begin("Finance__kept.pdf", "from", "to");
+        for (int i = 0; i < 100; i++) {
+            journal.commit(journal.begin("Finance__" + i + ".pdf", "from", "to"));
+        }
+        assertEquals(1, journal.pendingCount());
+        journal.commit(pending);
+        journal.close();
+
+        open(256).close();
+        verify(repository, never()).save(any());
+    }
+
+    private RoutingJournal open(int capacity) throws IOException {
+        RoutingJournal journal = new RoutingJournal(repository);
+        ReflectionTestUtils.setField(journal, "localBaseDir", baseDir.toString());
+        ReflectionTestUtils.setField(journal, "journalPath", journalFile.toString());
+        ReflectionTestUtils.setField(journal, "capacity", capacity);
+        journal.open();
+        return journal;
+    }
+
+    private Path incoming(String name) {
+        return baseDir.resolve("incoming").resolve(name);
+    }
+
+    private Path report(String name) {
+        return baseDir.resolve("reports").resolve(name.substring(0, name.indexOf('_'))).resolve(name);
+    }
+}
@@ -0,0 +1,240 @@
+package com.rwtool.service;
+
+import com.rwtool.dto.UrlIngestionJobDTO;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class UrlIngestionServiceTest {
+
+    private static final byte[] CONTENT = "0123456789".repeat(1000).getBytes(StandardCharsets.US_ASCII);
+
+    @TempDir
+    Path baseDir;
+
+    private Path incoming;
+    private Path staging;
+
+    private HttpServer server;
+    private UrlIngestionService service;
+    // Range header of each request, "" when absent
+    private final List<String> ranges = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        incoming = baseDir.resolve("incoming");
+        staging = baseDir.resolve(".staging");
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.stop();
+        }
+        server.stop(0);
+    }
+
+    @Test
+    void resumesWithRangeAfterTheConnectionDrops() throws Exception {
+        int half = CONTENT.length / 2;
+        handle(exchange -> {
+            if (requests.getAndIncrement() == 0) {
+                exchange.sendResponseHeaders(200, CONTENT.length);
+                OutputStream out = exchange.getResponseBody();
+                out.write(CONTENT, 0, half);
+                out.flush();
+                // fewer bytes than Content-Length: the server drops the connection
+                exchange.close();
+            } else {
+                sendRange(exchange, half);
+            }
+        });
+
+        UrlIngestionJobDTO job = await(submit("Finance__report.pdf"));
+
+        assertEquals("DONE", job.getState(), job.getMessage());
+        assertEquals(2, job.getAttempts());
+        assertEquals(List.of("", "bytes=" + half + "-"), ranges);
+        assertArrayEquals(CONTENT, Files.readAllBytes(incoming.resolve("Finance__report.pdf")));
+        assertFalse(Files.exists(staging.resolve("Finance__report.pdf.part")));
+        assertEquals(List.of(incoming.resolve("Finance__report.pdf")), list(incoming));
+    }
+
+    @Test
+    void stalledBodyIsCancelledAndResumed() throws Exception {
+        int half = CONTENT.length / 2;
+        handle(exchange -> {
+            if (requests.getAndIncrement() == 0) {
+                exchange.sendResponseHeaders(200, CONTENT.length);
+                OutputStream out = exchange.getResponseBody();
+                out.write(CONTENT, 0, half);
+                out.flush();
+                sleep(3000);
+                exchange.close();
+            } else {
+                sendRange(exchange, half);
+            }
+        });
+
+        UrlIngestionJobDTO job = await(submit("Finance__stalled.pdf"));
+
+        assertEquals("DONE", job.getState(), job.getMessage());
+        assertEquals(2, job.getAttempts());
+        assertEquals("bytes=" + half + "-", ranges.get(1));
+        assertArrayEquals(CONTENT, Files.readAllBytes(incoming.resolve("Finance__stalled.pdf")));
+    }
+
+    @Test
+    void rangeNotSatisfiableStartsOver() throws Exception {
+        Files.createDirectories(staging);
+        Files.writeString(staging.resolve("Finance__stale.pdf.part"), "stale bytes from another version");
+        handle(exchange -> {
+            requests.incrementAndGet();
+            if (exchange.getRequestHeaders().getFirst("Range") != null) {
+                exchange.sendResponseHeaders(416, -1);
+                exchange.close();
+            } else {
+                exchange.sendResponseHeaders(200, CONTENT.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(CONTENT);
+                }
+            }
+        });
+
+        UrlIngestionJobDTO job = await(submit("Finance__stale.pdf"));
+
+        assertEquals("DONE", job.getState(), job.getMessage());
+        assertEquals(2, ranges.size());
+        assertTrue(ranges.get(0).startsWith("bytes="));
+        assertEquals("", ranges.get(1));
+        assertArrayEquals(CONTENT, Files.readAllBytes(incoming.resolve("Finance__stale.pdf")));
+    }
+
+    @Test
+    void retriesOn429And5xx() throws Exception {
+        handle(exchange -> {
+            int n = requests.getAndIncrement();
+            if (n < 2) {
+                exchange.sendResponseHeaders(n == 0 ? 429 : 503, -1);
+                exchange.close();
+                return;
+            }
+            exchange.sendResponseHeaders(200, CONTENT.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(CONTENT);
+            }
+        });
+
+        UrlIngestionJobDTO job = await(submit("Finance__busy.pdf"));
+
+        assertEquals("DONE", job.getState(), job.getMessage());
+        assertEquals(3, job.getAttempts());
+        assertArrayEquals(CONTENT, Files.readAllBytes(incoming.resolve("Finance__busy.pdf")));
+    }
+
+    @Test
+    void failsAfterMaxAttemptsAndEvictsFinishedJobs() throws Exception {
+        handle(exchange -> {
+            requests.incrementAndGet();
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        });
+
+        UrlIngestionJobDTO job = await(submit("Finance__broken.pdf"));
+
+        assertEquals("FAILED", job.getState());
+        assertEquals("HTTP 500 after 3 attempt(s)", job.getMessage());
+        assertFalse(Files.exists(incoming.resolve("Finance__broken.pdf")));
+        assertFalse(Files.exists(staging.resolve("Finance__broken.pdf.part")));
+
+        // retention is zero, so the next submit drops the finished job
+        await(submit("Finance__other.pdf"));
+        assertNull(service.getJob(job.getJobId()).orElse(null));
+    }
+
+    private interface Handler {
+        void handle(HttpExchange exchange) throws IOException;
+    }
+
+    private void handle(Handler handler) {
+        server.createContext("/", exchange -> {
+            String range = exchange.getRequestHeaders().getFirst("Range");
+            ranges.add(range == null ? "" : range);
+            try {
+                handler.handle(exchange);
+            } catch (IOException e) {
+                // the client went away or the stub cut the response short on purpose
+            }
+        });
+        service = new UrlIngestionService(HttpClient.newHttpClient(), incoming, staging, Duration.ofSeconds(5),
+                Duration.ofMillis(300), Duration.ofSeconds(30), Duration.ZERO, 2, 3, 10);
+    }
+
+    private UrlIngestionJobDTO submit(String fileName) throws IOException {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/files/" + fileName;
+        return service.submit(url, fileName);
+    }
+
+    private UrlIngestionJobDTO await(UrlIngestionJobDTO job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!job.isDone()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("download did not finish: " + job.getState() + " " + job.getMessage());
+            }
+            Thread.sleep(20);
+        }
+        return job;
+    }
+
+    private static List<Path> list(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.toList();
+        }
+    }
+
+    private static void sendRange(HttpExchange exchange, int from) throws IOException {
+        exchange.getResponseHeaders().set("Content-Range",
+                "bytes " + from + "-" + (CONTENT.length - 1) + "/" + CONTENT.length);
+        exchange.sendResponseHeaders(206, CONTENT.length - from);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(CONTENT, from, CONTENT.length - from);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}